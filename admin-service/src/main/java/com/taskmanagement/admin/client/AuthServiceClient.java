@@ -13,12 +13,18 @@ public interface AuthServiceClient {
     @GetMapping("/api/users")
     List<UserDto> getAllUsers(@RequestHeader("Authorization") String authHeader);
     
+    @GetMapping("/api/users/stats")
+    Map<String, Object> getUserStats(@RequestHeader("Authorization") String authHeader);
+    
     @GetMapping("/api/users/{id}")
     UserDto getUserById(@RequestHeader("Authorization") String authHeader, @PathVariable Long id);
     
     @PostMapping("/api/users")
     UserDto createUser(@RequestHeader("Authorization") String authHeader, @RequestBody Map<String, Object> userRequest);
     
+    @PostMapping("/api/users/bulk")
+    Map<String, Object> createUsers(@RequestHeader("Authorization") String authHeader, @RequestBody List<Map<String, Object>> userRequests);
+    
     @PutMapping("/api/users/{id}")
     UserDto updateUser(@RequestHeader("Authorization") String authHeader, @PathVariable Long id, @RequestBody UserDto userDto);
     
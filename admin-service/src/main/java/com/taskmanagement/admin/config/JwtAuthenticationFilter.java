@@ -1,5 +1,6 @@
 package com.taskmanagement.admin.config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,12 +30,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                // Extract user details from token
-                Long userId = jwtUtil.getUserIdFromToken(jwt);
-                String email = jwtUtil.getEmailFromToken(jwt);
-                String name = jwtUtil.getNameFromToken(jwt);
-                String role = jwtUtil.getRoleFromToken(jwt);
+            Claims claims = jwt != null ? jwtUtil.parseValidClaims(jwt) : null;
+            if (claims != null) {
+                // Extract user details from the verified token
+                Long userId = claims.get("id", Long.class);
+                String email = claims.get("email", String.class);
+                String name = claims.get("name", String.class);
+                String role = claims.get("role", String.class);
                 
                 // Create user principal
                 UserPrincipal userPrincipal = UserPrincipal.builder()
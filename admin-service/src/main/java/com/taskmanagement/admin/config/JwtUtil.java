@@ -1,62 +1,44 @@
 package com.taskmanagement.admin.config;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private final JwksKeyResolver keyResolver;
 
     @Value("${app.jwt.issuer}")
     private String issuer;
 
-    public Long getUserIdFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("id", Long.class));
-    }
-
-    public String getEmailFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("email", String.class));
-    }
-
-    public String getNameFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("name", String.class));
-    }
-
-    public String getRoleFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("role", String.class));
-    }
+    private JwtParser parser;
 
-    public <T> T getClaimFromToken(String token, java.util.function.Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
-        return claimsResolver.apply(claims);
+    @PostConstruct
+    void init() {
+        // Tokens are signed by auth-service with ES256; keys come from its JWKS endpoint
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyResolver)
+                .build();
     }
 
-    private Claims getAllClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean validateToken(String token) {
+        return parseValidClaims(token) != null;
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verify the signature and expiry of a token and return its claims, parsing it only once
+     * @param token The JWT token
+     * @return The claims, or null if the token is invalid or expired
+     */
+    public Claims parseValidClaims(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (SignatureException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -68,6 +50,6 @@ public class JwtUtil {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
 }
\ No newline at end of file
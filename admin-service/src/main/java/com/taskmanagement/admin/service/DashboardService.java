@@ -6,7 +6,6 @@ import com.taskmanagement.admin.client.TaskServiceClient;
 import com.taskmanagement.admin.config.UserPrincipal;
 import com.taskmanagement.admin.model.dto.ProjectDto;
 import com.taskmanagement.admin.model.dto.TaskDto;
-import com.taskmanagement.admin.model.dto.UserDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -33,20 +32,13 @@ public class DashboardService {
         String authHeader = "Bearer " + currentUser.getToken();
         
         // Fetch data from services
-        List<UserDto> users = authServiceClient.getAllUsers(authHeader);
+        // Aggregated by auth-service so the user directory is never transferred here
+        Map<String, Object> userStats = authServiceClient.getUserStats(authHeader);
         List<ProjectDto> projects = projectServiceClient.getAllProjects(authHeader);
         List<TaskDto> tasks = taskServiceClient.getAllTasks(authHeader);
         
         Map<String, Object> stats = new HashMap<>();
         
-        // User stats
-        Map<String, Object> userStats = new HashMap<>();
-        userStats.put("total", users.size());
-        
-        Map<String, Long> usersByRole = users.stream()
-                .collect(Collectors.groupingBy(UserDto::getRole, Collectors.counting()));
-        userStats.put("byRole", usersByRole);
-        
         // Project stats
         Map<String, Object> projectStats = new HashMap<>();
         projectStats.put("total", projects.size());
@@ -0,0 +1,44 @@
+package com.taskmanagement.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A 200 response body with the headers needed to replay it
+ */
+public class CachedResponse {
+
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final String etag;
+    private volatile long freshUntilNanos;
+
+    public CachedResponse(HttpHeaders headers, byte[] body, long freshForNanos) {
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.etag = headers.getETag();
+        this.freshUntilNanos = System.nanoTime() + freshForNanos;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public boolean isFresh() {
+        return freshUntilNanos - System.nanoTime() > 0;
+    }
+
+    /**
+     * Mark the entry fresh again after the downstream service confirmed it with a 304
+     */
+    public void revalidated(long freshForNanos) {
+        this.freshUntilNanos = System.nanoTime() + freshForNanos;
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskmanagement.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GET responses cached by the gateway, shared by all routes that use the ResponseCacheFilter.
+ *
+ * Entries are bounded by total body size and dropped a while after they were stored; until then
+ * a stale entry can still be revalidated by ETag. Each route has a generation number that is part
+ * of every key, so a mutating request through the route invalidates all of its entries at once.
+ */
+@Component
+@Slf4j
+public class ResponseCache {
+
+    public enum Result { HIT, MISS, REVALIDATED }
+
+    private final Cache<String, CachedResponse> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${app.gateway.response-cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${app.gateway.response-cache.retain-seconds:300}") long retainSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.getBody().length)
+                .expireAfterWrite(Duration.ofSeconds(retainSeconds))
+                .build();
+    }
+
+    /**
+     * @param scope who may see the response, e.g. a user id
+     */
+    public String key(String routeId, String scope, String pathAndQuery) {
+        long generation = generations.computeIfAbsent(routeId, id -> new AtomicLong()).get();
+        return routeId + '#' + generation + '|' + scope + '|' + pathAndQuery;
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    /**
+     * Drop every cached response of the route
+     */
+    public void invalidateRoute(String routeId) {
+        generations.computeIfAbsent(routeId, id -> new AtomicLong()).incrementAndGet();
+        log.debug("Invalidated cached responses for route {}", routeId);
+    }
+
+    public void record(String routeId, Result result) {
+        stats.computeIfAbsent(routeId, this::registerStats).record(result);
+    }
+
+    private RouteStats registerStats(String routeId) {
+        RouteStats routeStats = new RouteStats(routeId);
+        Gauge.builder("gateway.response.cache.hit.ratio", routeStats, RouteStats::hitRatio)
+                .tag("route", routeId)
+                .description("Share of cacheable GETs answered by the gateway without a downstream call")
+                .register(meterRegistry);
+        return routeStats;
+    }
+
+    private class RouteStats {
+
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter revalidations;
+
+        RouteStats(String routeId) {
+            this.hits = counter(routeId, "hit");
+            this.misses = counter(routeId, "miss");
+            this.revalidations = counter(routeId, "revalidated");
+        }
+
+        private Counter counter(String routeId, String result) {
+            return Counter.builder("gateway.response.cache.requests")
+                    .tag("route", routeId)
+                    .tag("result", result)
+                    .description("Cacheable GET requests by cache outcome")
+                    .register(meterRegistry);
+        }
+
+        void record(Result result) {
+            switch (result) {
+                case HIT -> hits.increment();
+                case MISS -> misses.increment();
+                case REVALIDATED -> revalidations.increment();
+            }
+        }
+
+        double hitRatio() {
+            // A revalidation still costs a downstream call, so only hits count as served
+            double total = hits.count() + revalidations.count() + misses.count();
+            return total == 0 ? 0 : hits.count() / total;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.taskmanagement.gateway.compression;
+
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Incremental gzip encoder for one response body. Each chunk is compressed as it arrives and
+ * whatever output the deflater has ready is handed back, so a body is never held in memory as
+ * a whole; {@link #finish()} flushes the rest and appends the gzip trailer.
+ *
+ * Not thread-safe: a response body is written by one subscriber, chunk after chunk. Call
+ * {@link #end()} once the body is done or abandoned to release the native deflater.
+ */
+public class GzipEncoder {
+
+    private static final byte[] HEADER = {
+            0x1f, (byte) 0x8b, // magic
+            Deflater.DEFLATED,
+            0, // flags
+            0, 0, 0, 0, // mtime
+            0, // extra flags
+            (byte) 0xff // OS unknown
+    };
+
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private byte[] out = new byte[8192];
+    private boolean headerWritten;
+    private long bytesIn;
+    private long bytesOut;
+    private long encodeNanos;
+
+    public GzipEncoder(int level) {
+        this.deflater = new Deflater(level, true);
+    }
+
+    /**
+     * Compresses the next chunk of the body
+     *
+     * @return the compressed bytes ready so far; may be empty while the deflater is still filling its window
+     */
+    public byte[] encode(byte[] chunk, int offset, int length) {
+        long start = System.nanoTime();
+        crc.update(chunk, offset, length);
+        bytesIn += length;
+        deflater.setInput(chunk, offset, length);
+
+        int written = writeHeader();
+        while (!deflater.needsInput()) {
+            written = deflate(written);
+        }
+        return take(written, start);
+    }
+
+    /**
+     * Flushes the remaining compressed data and writes the gzip trailer
+     */
+    public byte[] finish() {
+        long start = System.nanoTime();
+        int written = writeHeader();
+        deflater.finish();
+        while (!deflater.finished()) {
+            written = deflate(written);
+        }
+
+        ensureCapacity(written + 8);
+        writeIntLE((int) crc.getValue(), written);
+        writeIntLE((int) bytesIn, written + 4);
+        return take(written + 8, start);
+    }
+
+    public void end() {
+        deflater.end();
+    }
+
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    /**
+     * Time spent compressing so far. The encoder never blocks, so this is effectively its CPU time.
+     */
+    public long getEncodeNanos() {
+        return encodeNanos;
+    }
+
+    private int writeHeader() {
+        if (headerWritten) {
+            return 0;
+        }
+        headerWritten = true;
+        System.arraycopy(HEADER, 0, out, 0, HEADER.length);
+        return HEADER.length;
+    }
+
+    private int deflate(int written) {
+        if (written == out.length) {
+            ensureCapacity(out.length * 2);
+        }
+        return written + deflater.deflate(out, written, out.length - written, Deflater.NO_FLUSH);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > out.length) {
+            byte[] grown = new byte[Math.max(capacity, out.length * 2)];
+            System.arraycopy(out, 0, grown, 0, out.length);
+            out = grown;
+        }
+    }
+
+    private void writeIntLE(int value, int position) {
+        out[position] = (byte) value;
+        out[position + 1] = (byte) (value >> 8);
+        out[position + 2] = (byte) (value >> 16);
+        out[position + 3] = (byte) (value >> 24);
+    }
+
+    private byte[] take(int length, long start) {
+        bytesOut += length;
+        byte[] chunk = new byte[length];
+        System.arraycopy(out, 0, chunk, 0, length);
+        encodeNanos += System.nanoTime() - start;
+        return chunk;
+    }
+}
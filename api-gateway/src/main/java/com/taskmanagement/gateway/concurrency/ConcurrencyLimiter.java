@@ -0,0 +1,183 @@
+package com.taskmanagement.gateway.concurrency;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the requests in flight to one downstream service at its current {@link GradientLimit}.
+ * Requests over the limit wait in a short queue per priority and are admitted highest priority
+ * first as others complete; when the queue is full or the wait runs out they are shed.
+ */
+public class ConcurrencyLimiter {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final GradientLimit limit;
+    private final int maxQueued;
+    private final List<ArrayDeque<Waiter>> queues = new ArrayList<>();
+    private final long[] rejected = new long[PRIORITIES.length];
+    private int inFlight;
+    private int queued;
+
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance, int maxQueued) {
+        this.limit = new GradientLimit(initialLimit, minLimit, maxLimit, rttTolerance);
+        this.maxQueued = maxQueued;
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Takes a slot right away, or waits up to maxWait for one
+     *
+     * @return the slot, to be released when the request completes, or empty if the request is shed
+     */
+    public Mono<Permit> acquire(Priority priority, Duration maxWait) {
+        Waiter waiter;
+        synchronized (this) {
+            if (canAdmit(priority)) {
+                return Mono.just(grant());
+            }
+            if (queued >= maxQueued || maxWait.isZero()) {
+                rejected[priority.ordinal()]++;
+                return Mono.empty();
+            }
+            waiter = new Waiter(priority);
+            queues.get(priority.ordinal()).add(waiter);
+            queued++;
+        }
+
+        return waiter.permit.asMono()
+                .timeout(maxWait, Mono.defer(() -> Mono.justOrEmpty(abandon(waiter))))
+                .doOnCancel(() -> {
+                    Permit permit = abandon(waiter);
+                    if (permit != null) {
+                        permit.cancel();
+                    }
+                });
+    }
+
+    public synchronized int getLimit() {
+        return limit.getLimit();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    public synchronized long getRejected(Priority priority) {
+        return rejected[priority.ordinal()];
+    }
+
+    /**
+     * Free below this priority's share of the limit, and nobody of the same or higher priority waiting
+     */
+    private boolean canAdmit(Priority priority) {
+        if (inFlight >= priority.allowed(limit.getLimit())) {
+            return false;
+        }
+        for (int i = 0; i <= priority.ordinal(); i++) {
+            if (!queues.get(i).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Permit grant() {
+        inFlight++;
+        return new Permit(inFlight);
+    }
+
+    /**
+     * Gives up waiting, unless a slot was granted meanwhile, which is then returned
+     */
+    private synchronized Permit abandon(Waiter waiter) {
+        if (waiter.granted != null) {
+            return waiter.granted;
+        }
+        if (queues.get(waiter.priority.ordinal()).remove(waiter)) {
+            queued--;
+            rejected[waiter.priority.ordinal()]++;
+        }
+        return null;
+    }
+
+    private void release(Permit permit, boolean sample, boolean failed) {
+        List<Waiter> admitted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            if (sample) {
+                limit.onSample(System.nanoTime() - permit.startNanos, permit.inFlight, failed);
+            }
+
+            int currentLimit = limit.getLimit();
+            for (int i = 0; i < PRIORITIES.length; i++) {
+                ArrayDeque<Waiter> queue = queues.get(i);
+                while (!queue.isEmpty() && inFlight < PRIORITIES[i].allowed(currentLimit)) {
+                    Waiter waiter = queue.poll();
+                    queued--;
+                    waiter.granted = grant();
+                    admitted.add(waiter);
+                }
+            }
+        }
+        // Outside the lock: emitting runs the admitted requests' downstream chains
+        admitted.forEach(waiter -> waiter.permit.tryEmitValue(waiter.granted));
+    }
+
+    /**
+     * One admitted request; released exactly once
+     */
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private final int inFlight;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlight) {
+            this.inFlight = inFlight;
+        }
+
+        /**
+         * Frees the slot and feeds the request's latency into the limit
+         *
+         * @param failed whether the downstream service failed or timed out
+         */
+        public void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                ConcurrencyLimiter.this.release(this, true, failed);
+            }
+        }
+
+        /**
+         * Frees the slot without a latency sample, for requests that never reached the service
+         */
+        public void cancel() {
+            if (released.compareAndSet(false, true)) {
+                ConcurrencyLimiter.this.release(this, false, false);
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final Priority priority;
+        private final Sinks.One<Permit> permit = Sinks.one();
+        private Permit granted;
+
+        Waiter(Priority priority) {
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.taskmanagement.gateway.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One concurrency limiter per downstream service, shared by all routes to it, published as
+ * gateway.concurrency.* meters tagged with the service.
+ */
+@Component
+public class ConcurrencyLimiterRegistry {
+
+    private final Map<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final int maxQueued;
+
+    public ConcurrencyLimiterRegistry(MeterRegistry meterRegistry,
+                                      @Value("${app.gateway.concurrency.initial-limit:20}") int initialLimit,
+                                      @Value("${app.gateway.concurrency.min-limit:4}") int minLimit,
+                                      @Value("${app.gateway.concurrency.max-limit:200}") int maxLimit,
+                                      @Value("${app.gateway.concurrency.rtt-tolerance:1.5}") double rttTolerance,
+                                      @Value("${app.gateway.concurrency.max-queued:50}") int maxQueued) {
+        this.meterRegistry = meterRegistry;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.maxQueued = maxQueued;
+    }
+
+    public ConcurrencyLimiter limiter(String service) {
+        ConcurrencyLimiter limiter = limiters.get(service);
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(service, this::register);
+        }
+        return limiter;
+    }
+
+    private ConcurrencyLimiter register(String service) {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(initialLimit, minLimit, maxLimit, rttTolerance, maxQueued);
+
+        Gauge.builder("gateway.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                .tag("service", service)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, ConcurrencyLimiter::getInFlight)
+                .tag("service", service)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.queued", limiter, ConcurrencyLimiter::getQueued)
+                .tag("service", service)
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            FunctionCounter.builder("gateway.concurrency.rejected", limiter, l -> l.getRejected(priority))
+                    .tag("service", service)
+                    .tag("priority", priority.name())
+                    .description("Requests shed because the service was at its concurrency limit")
+                    .register(meterRegistry);
+        }
+        return limiter;
+    }
+}
@@ -0,0 +1,68 @@
+package com.taskmanagement.gateway.concurrency;
+
+/**
+ * Concurrency limit for one downstream service, adjusted from the latency of completed requests.
+ *
+ * A long-term average latency stands for the service's healthy baseline and a short-term average
+ * for its current state. While current latency stays within tolerance of the baseline the limit
+ * grows by about its square root per sample; as latency rises past it the limit shrinks in
+ * proportion, down to half per sample. Failed requests back off multiplicatively. The limit is
+ * only raised while the service is actually using at least half of it.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+class GradientLimit {
+
+    private static final int LONG_WINDOW = 600;
+    private static final int SHORT_WINDOW = 10;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+
+    private double limit;
+    private double longRttNanos = -1;
+    private double shortRttNanos = -1;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double rttTolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+    }
+
+    /**
+     * @param inFlight requests in flight when this one started, including itself
+     * @param failed whether the request failed in a way that suggests overload
+     */
+    void onSample(long rttNanos, int inFlight, boolean failed) {
+        if (failed) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+
+        longRttNanos = average(longRttNanos, rttNanos, LONG_WINDOW);
+        shortRttNanos = average(shortRttNanos, rttNanos, SHORT_WINDOW);
+        // A baseline far above current latency is stale, e.g. from a past incident; let it recover faster
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    private static double average(double current, long sample, int window) {
+        return current < 0 ? sample : current + (sample - current) * 2.0 / (window + 1);
+    }
+}
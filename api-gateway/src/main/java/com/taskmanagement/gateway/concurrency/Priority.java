@@ -0,0 +1,29 @@
+package com.taskmanagement.gateway.concurrency;
+
+/**
+ * How important a route's requests are when its downstream service is at its concurrency limit.
+ * Lower priorities may only use part of the limit, so the rest stays free for higher ones, and
+ * queued requests are admitted highest priority first.
+ */
+public enum Priority {
+
+    /** Login and token refresh; may use the whole limit */
+    HIGH(1.0),
+    /** Regular reads and writes */
+    NORMAL(0.9),
+    /** Admin and integration traffic such as exports */
+    LOW(0.6);
+
+    private final double share;
+
+    Priority(double share) {
+        this.share = share;
+    }
+
+    /**
+     * The part of the limit requests of this priority may occupy, at least one
+     */
+    int allowed(int limit) {
+        return Math.max(1, (int) Math.ceil(limit * share));
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskmanagement.gateway.config;
+
+import com.taskmanagement.gateway.ratelimit.InMemoryRateLimitStore;
+import com.taskmanagement.gateway.ratelimit.PartitionedRateLimitStore;
+import com.taskmanagement.gateway.ratelimit.RateLimitStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@Slf4j
+public class RateLimitConfig {
+
+    @Value("${app.gateway.rate-limit.store:memory}")
+    private String store;
+
+    @Value("${app.gateway.rate-limit.nodes:1}")
+    private int nodes;
+
+    @Value("${app.gateway.rate-limit.max-keys:100000}")
+    private long maxKeys;
+
+    @Value("${app.gateway.rate-limit.idle-key-seconds:300}")
+    private long idleKeySeconds;
+
+    @Bean
+    public RateLimitStore rateLimitStore() {
+        InMemoryRateLimitStore local = new InMemoryRateLimitStore(maxKeys, Duration.ofSeconds(idleKeySeconds));
+
+        if ("partitioned".equalsIgnoreCase(store)) {
+            log.info("Rate limits are split across {} gateway nodes", nodes);
+            return new PartitionedRateLimitStore(local, nodes);
+        }
+        return local;
+    }
+}
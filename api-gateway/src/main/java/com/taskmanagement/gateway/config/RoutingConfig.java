@@ -0,0 +1,29 @@
+package com.taskmanagement.gateway.config;
+
+import com.taskmanagement.gateway.routing.PrefixRouteHandlerMapping;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Routes are defined only under spring.cloud.gateway.routes (application.properties, optionally
+ * overridden by config/gateway-routes.properties); this replaces the gateway's route lookup with
+ * the prefix-indexed one.
+ */
+@Configuration
+public class RoutingConfig {
+
+    @Bean
+    public RoutePredicateHandlerMapping routePredicateHandlerMapping(FilteringWebHandler webHandler,
+                                                                     RouteLocator routeLocator,
+                                                                     RouteDefinitionLocator routeDefinitionLocator,
+                                                                     GlobalCorsProperties globalCorsProperties,
+                                                                     Environment environment) {
+        return new PrefixRouteHandlerMapping(webHandler, routeLocator, routeDefinitionLocator, globalCorsProperties, environment);
+    }
+}
@@ -0,0 +1,307 @@
+package com.taskmanagement.gateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.taskmanagement.gateway.security.IdentityHeaderSigner;
+import com.taskmanagement.gateway.security.JwtUtil;
+import com.taskmanagement.gateway.security.TokenRevocationFeed;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies the bearer token once at the edge and forwards the caller's identity as signed
+ * X-User-* headers. Verified tokens are cached until they expire (capped by the cache TTL),
+ * so repeated requests with the same token skip signature verification entirely. Every
+ * request, cached or not, is checked against the auth service's token revocations.
+ */
+@Component
+@Slf4j
+public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
+
+    /** Exchange attribute holding the id of the verified caller, for filters further down the chain */
+    public static final String USER_ID_ATTR = AuthenticationFilter.class.getName() + ".userId";
+
+    /** Exchange attribute holding the role of the verified caller */
+    public static final String USER_ROLE_ATTR = AuthenticationFilter.class.getName() + ".userRole";
+
+    // Ahead of the rate limiter and response cache, which key on the verified user
+    static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 4;
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final IdentityHeaderSigner signer;
+    private final TokenRevocationFeed revocations;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Cache<String, VerifiedIdentity> verifiedTokens;
+
+    public AuthenticationFilter(JwtUtil jwtUtil,
+                                IdentityHeaderSigner signer,
+                                TokenRevocationFeed revocations,
+                                ObjectMapper objectMapper,
+                                @Value("${app.gateway.auth.cache.max-size:10000}") long cacheMaxSize,
+                                @Value("${app.gateway.auth.cache.ttl-seconds:60}") long cacheTtlSeconds) {
+        super(Config.class);
+        this.jwtUtil = jwtUtil;
+        this.signer = signer;
+        this.revocations = revocations;
+        this.objectMapper = objectMapper;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(TimeUnit.SECONDS.toNanos(cacheTtlSeconds)))
+                .build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String path = request.getPath().value();
+
+            // Skip authentication for CORS preflight and public paths, but never pass on client-supplied identity
+            if (HttpMethod.OPTIONS.equals(request.getMethod()) || isPublicPath(path, config)) {
+                return chain.filter(exchange.mutate().request(stripIdentityHeaders(request)).build());
+            }
+
+            String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (authHeader == null) {
+                return onError(exchange, "Authorization header is missing", HttpStatus.UNAUTHORIZED);
+            }
+            if (!authHeader.startsWith(BEARER_PREFIX)) {
+                return onError(exchange, "Invalid Authorization header format", HttpStatus.UNAUTHORIZED);
+            }
+
+            VerifiedIdentity identity = verify(authHeader.substring(BEARER_PREFIX.length()));
+            if (identity == null) {
+                return onError(exchange, "Invalid or expired JWT token", HttpStatus.UNAUTHORIZED);
+            }
+            if (revocations.isRevoked(identity.id, identity.issuedAtMillis)) {
+                return onError(exchange, "JWT token has been revoked", HttpStatus.UNAUTHORIZED);
+            }
+
+            if (config.isRoleBasedAccessControl() && isAdminPath(path, config) && !"ADMIN".equalsIgnoreCase(identity.role)) {
+                return onError(exchange, "Access denied - Insufficient privileges", HttpStatus.FORBIDDEN);
+            }
+
+            log.debug("User {} with ID {} and role {} is accessing {}", identity.email, identity.userId, identity.role, path);
+
+            ServerHttpRequest modifiedRequest = request.mutate()
+                    .headers(headers -> {
+                        removeIdentityHeaders(headers);
+                        headers.set(IdentityHeaderSigner.USER_ID, identity.userId);
+                        headers.set(IdentityHeaderSigner.USER_EMAIL, identity.email);
+                        headers.set(IdentityHeaderSigner.USER_NAME, identity.name);
+                        headers.set(IdentityHeaderSigner.USER_ROLE, identity.role);
+                        headers.set(IdentityHeaderSigner.USER_EXPIRES, identity.expires);
+                        if (identity.signature != null) {
+                            headers.set(IdentityHeaderSigner.USER_SIGNATURE, identity.signature);
+                        }
+                    })
+                    .build();
+
+            exchange.getAttributes().put(USER_ID_ATTR, identity.userId);
+            exchange.getAttributes().put(USER_ROLE_ATTR, identity.role);
+            return chain.filter(exchange.mutate().request(modifiedRequest).build());
+        }, ORDER);
+    }
+
+    /**
+     * @return the identity carried by the token, or null if the token is invalid or expired
+     */
+    private VerifiedIdentity verify(String token) {
+        VerifiedIdentity cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtUtil.parseValidClaims(token);
+        if (claims == null || claims.get("id") == null || claims.getExpiration() == null) {
+            return null;
+        }
+
+        VerifiedIdentity identity = new VerifiedIdentity(claims);
+        verifiedTokens.put(token, identity);
+        return identity;
+    }
+
+    private ServerHttpRequest stripIdentityHeaders(ServerHttpRequest request) {
+        return request.mutate().headers(this::removeIdentityHeaders).build();
+    }
+
+    private void removeIdentityHeaders(HttpHeaders headers) {
+        headers.remove(IdentityHeaderSigner.USER_ID);
+        headers.remove(IdentityHeaderSigner.USER_EMAIL);
+        headers.remove(IdentityHeaderSigner.USER_NAME);
+        headers.remove(IdentityHeaderSigner.USER_ROLE);
+        headers.remove(IdentityHeaderSigner.USER_EXPIRES);
+        headers.remove(IdentityHeaderSigner.USER_SIGNATURE);
+    }
+
+    private boolean isPublicPath(String path, Config config) {
+        return config.getPublicPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private boolean isAdminPath(String path, Config config) {
+        return config.getAdminPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus httpStatus) {
+        log.debug("Authentication error: {}", message);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(httpStatus);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+        errorResponse.put("status", httpStatus.value());
+        errorResponse.put("error", httpStatus.getReasonPhrase());
+        errorResponse.put("message", message);
+        errorResponse.put("path", exchange.getRequest().getPath().value());
+
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(errorResponse);
+            DataBuffer buffer = response.bufferFactory().wrap(bytes);
+            return response.writeWith(Mono.just(buffer));
+        } catch (JsonProcessingException e) {
+            log.error("Error writing error response", e);
+            return response.setComplete();
+        }
+    }
+
+    /**
+     * Header values for a verified token, computed once and reused while the token stays cached
+     */
+    private class VerifiedIdentity {
+
+        private final Long id;
+        private final Long issuedAtMillis;
+        private final String userId;
+        private final String email;
+        private final String name;
+        private final String role;
+        private final String expires;
+        private final String signature;
+        private final long expiresAtMillis;
+
+        VerifiedIdentity(Claims claims) {
+            this.id = claims.get("id", Long.class);
+            this.issuedAtMillis = issuedAtMillis(claims);
+            this.userId = String.valueOf(claims.get("id"));
+            this.email = valueOrEmpty(claims.get("email", String.class));
+            // Names may hold characters that are not valid in a header value
+            this.name = URLEncoder.encode(valueOrEmpty(claims.get("name", String.class)), StandardCharsets.UTF_8);
+            this.role = valueOrEmpty(claims.get("role", String.class));
+            this.expiresAtMillis = claims.getExpiration().getTime();
+            this.expires = Long.toString(TimeUnit.MILLISECONDS.toSeconds(expiresAtMillis));
+            this.signature = signer.sign(userId, email, name, role, TimeUnit.MILLISECONDS.toSeconds(expiresAtMillis));
+        }
+
+        private String valueOrEmpty(String value) {
+            return value != null ? value : "";
+        }
+
+        /**
+         * The auth service's iatMillis claim, or for older tokens the end of the iat second
+         */
+        private Long issuedAtMillis(Claims claims) {
+            Long issuedAtMillis = claims.get("iatMillis", Long.class);
+            if (issuedAtMillis != null) {
+                return issuedAtMillis;
+            }
+            return claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() + 999 : null;
+        }
+    }
+
+    /**
+     * Keeps a verified token no longer than the configured TTL and never past the token's own expiry
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedIdentity> {
+
+        private final long ttlNanos;
+
+        TokenExpiry(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String token, VerifiedIdentity identity, long currentTime) {
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(identity.expiresAtMillis - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedIdentity identity, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedIdentity identity, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    public static class Config {
+        // Configuration properties for the filter
+        private boolean roleBasedAccessControl = true;
+        private List<String> adminPaths = List.of("/api/admin/**");
+        private List<String> publicPaths = List.of(
+                "/api/auth/login",
+                "/api/auth/register",
+                "/api/auth/refresh",
+                "/api/auth/forgot-password",
+                "/api/auth/reset-password",
+                "/api/*/health");
+
+        public boolean isRoleBasedAccessControl() {
+            return roleBasedAccessControl;
+        }
+
+        public void setRoleBasedAccessControl(boolean roleBasedAccessControl) {
+            this.roleBasedAccessControl = roleBasedAccessControl;
+        }
+
+        public List<String> getAdminPaths() {
+            return adminPaths;
+        }
+
+        public void setAdminPaths(List<String> adminPaths) {
+            this.adminPaths = adminPaths;
+        }
+
+        public List<String> getPublicPaths() {
+            return publicPaths;
+        }
+
+        public void setPublicPaths(List<String> publicPaths) {
+            this.publicPaths = publicPaths;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.taskmanagement.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses identical GETs that arrive while one is already on its way downstream. The first
+ * request goes through as usual and its response is buffered on the way back; requests for the
+ * same path, query and validators (If-None-Match, If-Modified-Since) in the same scope wait for
+ * it and get a copy instead of calling the service themselves.
+ *
+ * Only 200 responses are shared. Waiting requests fall back to their own downstream call when
+ * the response does not arrive within the timeout, is anything else (a 304 answers only the
+ * validators of the request that got it), is larger than maxBodyBytes, sets cookies, or the
+ * first request fails. Scope is the verified user by default; routes whose responses only
+ * depend on the caller's role can share across users with {@code scope=ROLE}. Listing roles,
+ * e.g. {@code CoalescingFilter=2000, 262144, ROLE, ADMIN}, limits that to callers who see the
+ * same data by role alone; everyone else stays scoped to their own user.
+ */
+@Component
+public class CoalescingFilter extends AbstractGatewayFilterFactory<CoalescingFilter.Config> {
+
+    // After the response cache, so only misses are collapsed, and before the body is written
+    static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private static final List<String> SHARED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.EXPIRES);
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+
+    public CoalescingFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeoutMs", "maxBodyBytes", "scope", "roles");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Duration timeout = Duration.ofMillis(config.getTimeoutMs());
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!HttpMethod.GET.equals(request.getMethod()) || request.getHeaders().containsKey(HttpHeaders.RANGE)) {
+                return chain.filter(exchange);
+            }
+
+            String routeId = routeId(exchange);
+            RouteMeters meters = routeMeters.computeIfAbsent(routeId, RouteMeters::new);
+            String key = key(exchange, routeId, config);
+
+            InFlight leader = new InFlight(key);
+            InFlight existing = inFlight.putIfAbsent(key, leader);
+            if (existing != null) {
+                return follow(exchange, chain, existing, timeout, meters);
+            }
+
+            meters.leaders.increment();
+            SharingResponse response = new SharingResponse(exchange.getResponse(), leader, config.getMaxBodyBytes());
+            return chain.filter(exchange.mutate().response(response).build())
+                    // Anything not shared by now (errors, cancellation, bodiless responses) sends waiters their own way
+                    .doFinally(signal -> leader.publish(null));
+        }, ORDER);
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, InFlight leader, Duration timeout,
+                              RouteMeters meters) {
+        return leader.response.asMono()
+                .timeout(timeout, Mono.empty())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> {
+                    if (shared.isPresent()) {
+                        meters.shared.increment();
+                        return writeShared(exchange.getResponse(), shared.get());
+                    }
+                    meters.fallbacks.increment();
+                    return chain.filter(exchange);
+                });
+    }
+
+    private Mono<Void> writeShared(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status);
+        HttpHeaders headers = response.getHeaders();
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        shared.headers.forEach(headers::put);
+        headers.setContentLength(shared.body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body)));
+    }
+
+    private static String key(ServerWebExchange exchange, String routeId, Config config) {
+        String userId = exchange.getAttribute(AuthenticationFilter.USER_ID_ATTR);
+        String role = exchange.getAttribute(AuthenticationFilter.USER_ROLE_ATTR);
+        String scopeKey = userId == null ? "public"
+                : config.getScope() == Scope.ROLE && sharesByRole(role, config.getRoles()) ? "role:" + role
+                : "user:" + userId;
+
+        ServerHttpRequest request = exchange.getRequest();
+        String query = request.getURI().getRawQuery();
+        String path = query != null ? request.getURI().getRawPath() + '?' + query : request.getURI().getRawPath();
+        String key = routeId + '|' + scopeKey + '|' + path;
+
+        // Conditional requests, from clients or the response cache revalidating, only join each other
+        HttpHeaders headers = request.getHeaders();
+        String ifNoneMatch = headers.getFirst(HttpHeaders.IF_NONE_MATCH);
+        String ifModifiedSince = headers.getFirst(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifNoneMatch != null || ifModifiedSince != null) {
+            key = key + '|' + ifNoneMatch + '|' + ifModifiedSince;
+        }
+        return key;
+    }
+
+    /**
+     * Whether callers with this role may share responses, all roles if none are listed
+     */
+    private static boolean sharesByRole(String role, List<String> roles) {
+        return role != null && (roles.isEmpty() || roles.stream().anyMatch(role::equalsIgnoreCase));
+    }
+
+    private String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "default";
+    }
+
+    /**
+     * A request on its way downstream; completes with its response once it can be shared,
+     * or empty if it cannot
+     */
+    private final class InFlight {
+
+        private final String key;
+        private final Sinks.One<SharedResponse> response = Sinks.one();
+
+        InFlight(String key) {
+            this.key = key;
+        }
+
+        void publish(SharedResponse shared) {
+            // Requests arriving from now on start a new call instead of joining a finished one
+            inFlight.remove(key, this);
+            if (shared != null) {
+                response.tryEmitValue(shared);
+            } else {
+                response.tryEmitEmpty();
+            }
+        }
+    }
+
+    private static final class SharedResponse {
+
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Passes the first request's body through unchanged while keeping a copy for the waiters,
+     * until it grows past the size limit
+     */
+    private class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final InFlight leader;
+        private final int maxBodyBytes;
+
+        SharingResponse(ServerHttpResponse delegate, InFlight leader, int maxBodyBytes) {
+            super(delegate);
+            this.leader = leader;
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            long contentLength = headers.getContentLength();
+            if (!HttpStatus.OK.equals(status) || headers.containsKey(HttpHeaders.SET_COOKIE)
+                    || contentLength > maxBodyBytes) {
+                return super.writeWith(body);
+            }
+
+            // Taken now, before decorators closer to the client rewrite them
+            HttpHeaders shared = new HttpHeaders();
+            SHARED_HEADERS.forEach(name -> {
+                List<String> values = headers.get(name);
+                if (values != null) {
+                    shared.put(name, List.copyOf(values));
+                }
+            });
+
+            ByteArrayOutputStream copy = new ByteArrayOutputStream(contentLength > 0 ? (int) contentLength : 8192);
+            boolean[] tooLarge = {false};
+            Flux<DataBuffer> copied = Flux.from(body).map(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+
+                if (!tooLarge[0] && copy.size() + bytes.length <= maxBodyBytes) {
+                    copy.write(bytes, 0, bytes.length);
+                } else {
+                    tooLarge[0] = true;
+                }
+                return bufferFactory().wrap(bytes);
+            });
+
+            return super.writeWith(copied.doOnComplete(() -> {
+                if (!tooLarge[0]) {
+                    leader.publish(new SharedResponse(status, shared, copy.toByteArray()));
+                }
+            }));
+        }
+    }
+
+    /**
+     * Coalescing meters of one route
+     */
+    private final class RouteMeters {
+
+        private final Counter leaders;
+        private final Counter shared;
+        private final Counter fallbacks;
+
+        RouteMeters(String routeId) {
+            this.leaders = counter(routeId, "leader", "Requests sent downstream on behalf of identical requests");
+            this.shared = counter(routeId, "shared", "Requests answered with the response of an identical in-flight request");
+            this.fallbacks = counter(routeId, "fallback", "Requests that waited, then went downstream themselves");
+        }
+
+        private Counter counter(String routeId, String result, String description) {
+            return Counter.builder("gateway.coalescing.requests")
+                    .tag("route", routeId)
+                    .tag("result", result)
+                    .description(description)
+                    .register(meterRegistry);
+        }
+    }
+
+    public enum Scope {
+        /** Shared only between requests of the same user */
+        USER,
+        /** Shared between users with the same role */
+        ROLE
+    }
+
+    public static class Config {
+        private long timeoutMs = 2000;
+        private int maxBodyBytes = 256 * 1024;
+        private Scope scope = Scope.USER;
+        private List<String> roles = List.of();
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public int getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public void setMaxBodyBytes(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        public Scope getScope() {
+            return scope;
+        }
+
+        public void setScope(Scope scope) {
+            this.scope = scope;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(List<String> roles) {
+            this.roles = roles;
+        }
+    }
+}
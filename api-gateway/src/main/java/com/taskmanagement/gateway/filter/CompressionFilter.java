@@ -0,0 +1,249 @@
+package com.taskmanagement.gateway.filter;
+
+import com.taskmanagement.gateway.compression.GzipEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gzip-compresses routed responses for clients that accept it, so downstream services need no
+ * compression setup of their own. The body is compressed chunk by chunk on its way out and
+ * never buffered as a whole.
+ *
+ * Responses are left alone when they are already encoded, not of a compressible media type,
+ * declared smaller than the minimum size, or streamed (SSE). Bodies without a Content-Length
+ * are compressed. A route opts out with the metadata entry {@code compression=false}.
+ */
+@Component
+public class CompressionFilter implements GlobalFilter, Ordered {
+
+    /**
+     * Runs before the other response decorators (cache), so they see the uncompressed body and
+     * this one sits closest to the client
+     */
+    static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 5;
+
+    static final String ROUTE_METADATA_KEY = "compression";
+
+    private static final String GZIP = "gzip";
+
+    private final boolean enabled;
+    private final long minResponseSize;
+    private final int level;
+    private final List<MediaType> mimeTypes;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+
+    public CompressionFilter(@Value("${app.gateway.compression.enabled:true}") boolean enabled,
+                             @Value("${app.gateway.compression.min-response-size:1024}") long minResponseSize,
+                             @Value("${app.gateway.compression.level:6}") int level,
+                             @Value("${app.gateway.compression.mime-types:application/json,application/*+json,"
+                                     + "application/javascript,application/xml,text/*}") List<String> mimeTypes,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minResponseSize = minResponseSize;
+        this.level = level;
+        this.mimeTypes = MediaType.parseMediaTypes(mimeTypes);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        if (!enabled || route == null || isOptedOut(route) || HttpMethod.HEAD.equals(request.getMethod())
+                || !acceptsGzip(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING))) {
+            return chain.filter(exchange);
+        }
+
+        RouteMeters meters = routeMeters.computeIfAbsent(route.getId(), RouteMeters::new);
+        return chain.filter(exchange.mutate().response(new CompressingResponse(exchange.getResponse(), meters)).build());
+    }
+
+    private static boolean isOptedOut(Route route) {
+        Object value = route.getMetadata().get(ROUTE_METADATA_KEY);
+        return value != null && "false".equalsIgnoreCase(value.toString());
+    }
+
+    /**
+     * Whether the Accept-Encoding values allow gzip, honouring q=0 and the * wildcard
+     */
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Boolean wildcard = null;
+        for (String header : acceptEncoding) {
+            for (String entry : header.split(",")) {
+                String[] parts = entry.trim().split(";");
+                String coding = parts[0].trim().toLowerCase();
+                boolean acceptable = quality(parts) > 0;
+                if (coding.equals(GZIP) || coding.equals("x-gzip")) {
+                    return acceptable;
+                }
+                if (coding.equals("*")) {
+                    wildcard = acceptable;
+                }
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Decides on compression once the response headers are known, then gzips the body as it is written
+     */
+    private class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final RouteMeters meters;
+
+        CompressingResponse(ServerHttpResponse delegate, RouteMeters meters) {
+            super(delegate);
+            this.meters = meters;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (!isCompressible(getStatusCode(), headers)) {
+                return super.writeWith(body);
+            }
+            // Responses written by the gateway itself come as one buffer without a Content-Length
+            if (body instanceof Mono && headers.getContentLength() < 0) {
+                return Mono.from(body).flatMap(buffer -> buffer.readableByteCount() < minResponseSize
+                        ? super.writeWith(Mono.just(buffer))
+                        : compress(Mono.just(buffer)));
+            }
+            return compress(body);
+        }
+
+        private Mono<Void> compress(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            // The compressed bytes are a different representation, only weakly equal to the original
+            String etag = headers.getETag();
+            if (etag != null && !etag.startsWith("W/")) {
+                headers.setETag("W/" + etag);
+            }
+
+            Flux<DataBuffer> compressed = Flux.using(() -> new GzipEncoder(level), encoder -> Flux.from(body)
+                    .<DataBuffer>handle((buffer, sink) -> {
+                        byte[] chunk = new byte[buffer.readableByteCount()];
+                        buffer.read(chunk);
+                        DataBufferUtils.release(buffer);
+
+                        byte[] encoded = encoder.encode(chunk, 0, chunk.length);
+                        if (encoded.length > 0) {
+                            sink.next(bufferFactory().wrap(encoded));
+                        }
+                    })
+                    .concatWith(Mono.fromSupplier(() -> {
+                        byte[] encoded = encoder.finish();
+                        meters.record(encoder.getBytesIn(), encoder.getBytesOut(), encoder.getEncodeNanos());
+                        return bufferFactory().wrap(encoded);
+                    })), GzipEncoder::end);
+            return super.writeWith(compressed);
+        }
+
+        private boolean isCompressible(HttpStatusCode status, HttpHeaders headers) {
+            if (status != null && (status.is1xxInformational() || status.value() == 204 || status.value() == 304)) {
+                return false;
+            }
+            if (headers.containsKey(HttpHeaders.CONTENT_ENCODING) || headers.containsKey(HttpHeaders.CONTENT_RANGE)) {
+                return false;
+            }
+            String cacheControl = headers.getCacheControl();
+            if (cacheControl != null && cacheControl.toLowerCase().contains("no-transform")) {
+                return false;
+            }
+            long contentLength = headers.getContentLength();
+            if (contentLength >= 0 && contentLength < minResponseSize) {
+                return false;
+            }
+            MediaType contentType = headers.getContentType();
+            return contentType != null && mimeTypes.stream().anyMatch(type -> type.includes(contentType));
+        }
+    }
+
+    /**
+     * Compression meters of one route
+     */
+    private final class RouteMeters {
+
+        private final Counter bytesIn;
+        private final Counter bytesOut;
+        private final Counter bytesSaved;
+        private final Timer time;
+
+        RouteMeters(String routeId) {
+            this.bytesIn = counter("gateway.compression.bytes.in", routeId, "Response bytes before compression");
+            this.bytesOut = counter("gateway.compression.bytes.out", routeId, "Response bytes after compression");
+            this.bytesSaved = counter("gateway.compression.bytes.saved", routeId, "Response bytes saved by compression");
+            this.time = Timer.builder("gateway.compression.time")
+                    .tag("route", routeId)
+                    .description("Time spent compressing a response body")
+                    .register(meterRegistry);
+        }
+
+        private Counter counter(String name, String routeId, String description) {
+            return Counter.builder(name).tag("route", routeId).baseUnit("bytes").description(description).register(meterRegistry);
+        }
+
+        void record(long in, long out, long nanos) {
+            bytesIn.increment(in);
+            bytesOut.increment(out);
+            bytesSaved.increment(Math.max(in - out, 0));
+            time.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
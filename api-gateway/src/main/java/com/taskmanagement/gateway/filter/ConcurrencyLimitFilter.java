@@ -0,0 +1,147 @@
+package com.taskmanagement.gateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.gateway.concurrency.ConcurrencyLimiter;
+import com.taskmanagement.gateway.concurrency.ConcurrencyLimiterRegistry;
+import com.taskmanagement.gateway.concurrency.Priority;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Limits the requests in flight to a route's downstream service to what it currently handles
+ * without its latency climbing, instead of waiting for failures to open the circuit breaker.
+ * Requests over the limit wait up to maxWaitMs, then get a 503 with Retry-After.
+ *
+ * The limit is per service, so routes to the same service share it; a route's priority decides
+ * how much of it the route may use and who is admitted first, e.g.
+ * {@code filters[4]=ConcurrencyLimitFilter=HIGH, 100} for login traffic.
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimitFilter extends AbstractGatewayFilterFactory<ConcurrencyLimitFilter.Config> {
+
+    private final ConcurrencyLimiterRegistry limiters;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiterRegistry limiters, ObjectMapper objectMapper) {
+        super(Config.class);
+        this.limiters = limiters;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("priority", "maxWaitMs");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Duration maxWait = Duration.ofMillis(config.getMaxWaitMs());
+
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            if (route == null) {
+                return chain.filter(exchange);
+            }
+            String service = route.getUri().getAuthority();
+            ConcurrencyLimiter limiter = limiters.limiter(service);
+
+            return limiter.acquire(config.getPriority(), maxWait)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(permit -> {
+                        if (permit.isEmpty()) {
+                            log.debug("Shedding {} request to {} at concurrency limit {}", config.getPriority(), service, limiter.getLimit());
+                            return onShed(exchange, config);
+                        }
+                        return chain.filter(exchange)
+                                .doFinally(signal -> permit.get().release(isOverloadSignal(exchange, signal)));
+                    });
+        };
+    }
+
+    /**
+     * Errors, 5xx responses and cancellations (circuit breaker timeouts) count against the limit
+     */
+    private static boolean isOverloadSignal(ServerWebExchange exchange, SignalType signal) {
+        if (signal != SignalType.ON_COMPLETE) {
+            return true;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && status.is5xxServerError();
+    }
+
+    private Mono<Void> onShed(ServerWebExchange exchange, Config config) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(config.getRetryAfterSeconds()));
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+        errorResponse.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorResponse.put("error", HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+        errorResponse.put("message", "Service is at capacity, please retry shortly");
+        errorResponse.put("path", exchange.getRequest().getPath().value());
+
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(errorResponse);
+            DataBuffer buffer = response.bufferFactory().wrap(bytes);
+            return response.writeWith(Mono.just(buffer));
+        } catch (JsonProcessingException e) {
+            log.error("Error writing error response", e);
+            return response.setComplete();
+        }
+    }
+
+    public static class Config {
+        private Priority priority = Priority.NORMAL;
+        private long maxWaitMs = 50;
+        private long retryAfterSeconds = 1;
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public void setPriority(Priority priority) {
+            this.priority = priority;
+        }
+
+        public long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(long retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+}
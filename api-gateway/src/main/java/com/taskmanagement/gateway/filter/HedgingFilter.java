@@ -0,0 +1,394 @@
+package com.taskmanagement.gateway.filter;
+
+import com.taskmanagement.gateway.hedging.HedgeBudget;
+import com.taskmanagement.gateway.hedging.LatencyTracker;
+import com.taskmanagement.gateway.loadbalancer.InstanceStatsRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Hedged, adaptively timed downstream calls for idempotent GETs.
+ *
+ * Takes over from the NettyRoutingFilter once the load balancer has picked an instance. If that
+ * instance has not answered within the route's recent p95 latency, the same request is sent to a
+ * different instance and whichever answers first is used; the other call is cancelled. Hedges are
+ * capped by a per-route budget, e.g. {@code filters[3]=HedgingFilter=0.1, 4000, /api/tasks/{id:[0-9]+}}
+ * allows one hedge per ten reads of a single task. Both calls together are bounded by a timeout of
+ * a multiple of the route's p99, kept between minTimeoutMs and maxTimeoutMs, and answered with 504
+ * when it expires. A hedge counts as a request to its instance in the load balancer's stats.
+ *
+ * Responses up to maxBodyBytes are buffered so the losing call can be dropped cleanly; larger ones,
+ * and ones of unknown length, are streamed by the NettyWriteResponseFilter as usual. Other methods
+ * and paths are left to the NettyRoutingFilter.
+ */
+@Component
+@Slf4j
+public class HedgingFilter extends AbstractGatewayFilterFactory<HedgingFilter.Config> {
+
+    // After the load balancer has resolved the instance, before the request would be sent
+    private static final int ORDER = NettyRoutingFilter.ORDER - 2;
+    private static final long LATENCY_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int MAX_CHOOSE_ATTEMPTS = 3;
+
+    private final HttpClient httpClient;
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final InstanceStatsRegistry instanceStats;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, RouteState> routes = new ConcurrentHashMap<>();
+
+    public HedgingFilter(HttpClient httpClient,
+                         LoadBalancerClientFactory loadBalancerClientFactory,
+                         ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                         InstanceStatsRegistry instanceStats,
+                         MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.httpClient = httpClient;
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.headersFilters = headersFilters;
+        this.instanceStats = instanceStats;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxHedgeRatio", "maxTimeoutMs", "path");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            if (!HttpMethod.GET.equals(exchange.getRequest().getMethod()) || route == null || requestUrl == null
+                    || !isHttp(requestUrl.getScheme()) || ServerWebExchangeUtils.isAlreadyRouted(exchange)
+                    || (config.getPath() != null && !pathMatcher.match(config.getPath(), exchange.getRequest().getPath().value()))) {
+                return chain.filter(exchange);
+            }
+            ServerWebExchangeUtils.setAlreadyRouted(exchange);
+
+            RouteState state = routes.get(route.getId());
+            if (state == null) {
+                state = routes.computeIfAbsent(route.getId(), id -> new RouteState(id, config));
+            }
+            return hedge(exchange, route, requestUrl, state, config);
+        }, ORDER);
+    }
+
+    private Mono<Void> hedge(ServerWebExchange exchange, Route route, URI requestUrl, RouteState state, Config config) {
+        state.budget.onRequest();
+        HttpHeaders requestHeaders = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+        requestHeaders.remove(HttpHeaders.HOST);
+        MetricsFilter.Timing timing = exchange.getAttribute(MetricsFilter.TIMING_ATTR);
+        long start = System.nanoTime();
+
+        AtomicBoolean answered = new AtomicBoolean();
+        // Set before the race is decided, so the loser is known to have lost rather than timed out
+        Mono<Upstream> primary = send(requestUrl, requestHeaders, state, config).doOnNext(response -> answered.set(true));
+
+        long hedgeAfter = state.latencies.percentile(0.95);
+        Mono<Upstream> upstream = primary;
+        if (hedgeAfter > 0 && "lb".equals(route.getUri().getScheme())) {
+            Mono<Upstream> hedged = Mono.delay(Duration.ofNanos(hedgeAfter))
+                    .then(Mono.defer(() -> state.budget.tryAcquire()
+                            ? otherInstance(route.getUri().getHost(), exchange, requestUrl)
+                            : Mono.<ServiceInstance>empty()))
+                    .flatMap(instance -> {
+                        URI hedgeUrl = LoadBalancerUriTools.reconstructURI(instance, requestUrl);
+                        state.hedges.increment();
+                        log.debug("Hedging {} to {} after {} ms", requestUrl, hedgeUrl, TimeUnit.NANOSECONDS.toMillis(hedgeAfter));
+                        return tracked(instance, send(hedgeUrl, requestHeaders, state, config), answered);
+                    })
+                    .doOnNext(response -> state.hedgeWins.increment());
+            // Without a budget or a second instance the hedge completes empty and the primary decides
+            upstream = Mono.firstWithValue(primary, hedged)
+                    .doOnDiscard(Upstream.class, Upstream::release);
+        }
+
+        return upstream
+                .timeout(Duration.ofNanos(state.timeoutNanos(config)))
+                .onErrorMap(TimeoutException.class, e -> {
+                    state.timeouts.increment();
+                    return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Upstream timed out");
+                })
+                .flatMap(response -> {
+                    if (timing != null) {
+                        timing.upstreamNanos = System.nanoTime() - start;
+                    }
+                    return write(exchange, response);
+                });
+    }
+
+    /**
+     * Another instance of the service than the one the request already went to
+     */
+    private Mono<ServiceInstance> otherInstance(String serviceId, ServerWebExchange exchange, URI requestUrl) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        String primaryHost = requestUrl.getHost() + ":" + requestUrl.getPort();
+
+        return Flux.range(0, MAX_CHOOSE_ATTEMPTS)
+                .concatMap(attempt -> Mono.from(loadBalancerClientFactory.getInstance(serviceId).choose()))
+                .filter(Response::hasServer)
+                .map(Response::getServer)
+                .filter(instance -> !(instance.getHost() + ":" + instance.getPort()).equals(primaryHost)
+                        && (chosen == null || !chosen.hasServer() || !instance.getInstanceId().equals(chosen.getServer().getInstanceId())))
+                .next();
+    }
+
+    /**
+     * Counts a hedge against its instance the way the InstanceStatsFilter counts the original request.
+     * Losing the race is not held against the instance, running into the timeout is.
+     */
+    private Mono<Upstream> tracked(ServiceInstance instance, Mono<Upstream> attempt, AtomicBoolean answered) {
+        return Mono.defer(() -> {
+            instanceStats.stats(instance).requestStarted();
+            long start = System.nanoTime();
+            AtomicBoolean finished = new AtomicBoolean();
+            Consumer<Boolean> finish = failed -> {
+                if (finished.compareAndSet(false, true)) {
+                    instanceStats.requestFinished(instance, System.nanoTime() - start, failed);
+                }
+            };
+            // Recorded as soon as the response is in, before the caller moves on
+            return attempt
+                    .doOnNext(response -> {
+                        answered.set(true);
+                        finish.accept(response.status >= 500);
+                    })
+                    .doOnCancel(() -> finish.accept(!answered.get()))
+                    .doFinally(signal -> finish.accept(true));
+        });
+    }
+
+    private Mono<Upstream> send(URI url, HttpHeaders requestHeaders, RouteState state, Config config) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return httpClient
+                    .headers(headers -> requestHeaders.forEach(headers::set))
+                    .get()
+                    .uri(url.toASCIIString())
+                    .responseConnection((response, connection) -> {
+                        HttpHeaders headers = new HttpHeaders();
+                        response.responseHeaders().forEach(header -> headers.add(header.getKey(), header.getValue()));
+                        long contentLength = headers.getContentLength();
+                        if (contentLength < 0 || contentLength > config.getMaxBodyBytes()) {
+                            return Mono.just(new Upstream(response.status().code(), headers, null, connection));
+                        }
+                        return connection.inbound().receive().aggregate().asByteArray()
+                                .defaultIfEmpty(new byte[0])
+                                .map(bytes -> new Upstream(response.status().code(), headers, bytes, null));
+                    })
+                    // Not next(), whose cancel would close the connection of a streamed response
+                    .singleOrEmpty()
+                    .doOnNext(response -> state.latencies.record(System.nanoTime() - start));
+        });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Upstream upstream) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders filtered = HttpHeadersFilter.filter(headersFilters.getIfAvailable(), upstream.headers, exchange,
+                HttpHeadersFilter.Type.RESPONSE);
+
+        response.setStatusCode(HttpStatusCode.valueOf(upstream.status));
+        response.getHeaders().putAll(filtered);
+        if (upstream.connection != null) {
+            if (response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH)) {
+                response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+            }
+            // Left to the NettyWriteResponseFilter, as if the NettyRoutingFilter had sent the request
+            exchange.getAttributes().put(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR, upstream.connection);
+            return Mono.empty();
+        }
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        response.getHeaders().setContentLength(upstream.body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(upstream.body)));
+    }
+
+    private static boolean isHttp(String scheme) {
+        return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+    }
+
+    private static final class Upstream {
+
+        private final int status;
+        private final HttpHeaders headers;
+        // Either the buffered body or the connection to stream it from
+        private final byte[] body;
+        private final Connection connection;
+
+        Upstream(int status, HttpHeaders headers, byte[] body, Connection connection) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.connection = connection;
+        }
+
+        void release() {
+            if (connection != null) {
+                connection.dispose();
+            }
+        }
+    }
+
+    /**
+     * Latency history, hedge budget and meters of one route
+     */
+    private final class RouteState {
+
+        private final LatencyTracker latencies;
+        private final HedgeBudget budget;
+        private final Counter hedges;
+        private final Counter hedgeWins;
+        private final Counter timeouts;
+        private volatile long lastTimeoutNanos;
+
+        RouteState(String routeId, Config config) {
+            this.latencies = new LatencyTracker(LATENCY_WINDOW_NANOS, config.getMinSamples());
+            this.budget = new HedgeBudget(config.getMaxHedgeRatio(), config.getMaxHedgeBurst());
+            this.hedges = counter("gateway.hedge.requests", routeId, "Extra requests sent to a second instance");
+            this.hedgeWins = counter("gateway.hedge.wins", routeId, "Hedged requests that answered before the original");
+            this.timeouts = counter("gateway.hedge.timeouts", routeId, "Requests that hit the adaptive timeout");
+            this.lastTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxTimeoutMs());
+
+            Gauge.builder("gateway.route.latency.p95", latencies, tracker -> Math.max(tracker.percentile(0.95), 0) / 1e9)
+                    .tag("route", routeId)
+                    .baseUnit("seconds")
+                    .description("Recent p95 latency, used as the hedging delay")
+                    .register(meterRegistry);
+            Gauge.builder("gateway.route.timeout", this, state -> state.lastTimeoutNanos / 1e9)
+                    .tag("route", routeId)
+                    .baseUnit("seconds")
+                    .description("Current adaptive timeout")
+                    .register(meterRegistry);
+        }
+
+        private Counter counter(String name, String routeId, String description) {
+            return Counter.builder(name).tag("route", routeId).description(description).register(meterRegistry);
+        }
+
+        /**
+         * A multiple of the recent p99, or the maximum while there is no history yet
+         */
+        long timeoutNanos(Config config) {
+            long max = TimeUnit.MILLISECONDS.toNanos(config.getMaxTimeoutMs());
+            long p99 = latencies.percentile(0.99);
+            long timeout = p99 < 0 ? max
+                    : Math.max(TimeUnit.MILLISECONDS.toNanos(config.getMinTimeoutMs()), Math.min(max, (long) (p99 * config.getTimeoutMultiplier())));
+            lastTimeoutNanos = timeout;
+            return timeout;
+        }
+    }
+
+    public static class Config {
+        private double maxHedgeRatio = 0.1;
+        private int maxHedgeBurst = 10;
+        private long minTimeoutMs = 500;
+        private long maxTimeoutMs = 4000;
+        private double timeoutMultiplier = 3.0;
+        private long minSamples = 50;
+        private int maxBodyBytes = 256 * 1024;
+        private String path;
+
+        public double getMaxHedgeRatio() {
+            return maxHedgeRatio;
+        }
+
+        public void setMaxHedgeRatio(double maxHedgeRatio) {
+            this.maxHedgeRatio = maxHedgeRatio;
+        }
+
+        public int getMaxHedgeBurst() {
+            return maxHedgeBurst;
+        }
+
+        public void setMaxHedgeBurst(int maxHedgeBurst) {
+            this.maxHedgeBurst = maxHedgeBurst;
+        }
+
+        public long getMinTimeoutMs() {
+            return minTimeoutMs;
+        }
+
+        public void setMinTimeoutMs(long minTimeoutMs) {
+            this.minTimeoutMs = minTimeoutMs;
+        }
+
+        public long getMaxTimeoutMs() {
+            return maxTimeoutMs;
+        }
+
+        public void setMaxTimeoutMs(long maxTimeoutMs) {
+            this.maxTimeoutMs = maxTimeoutMs;
+        }
+
+        public double getTimeoutMultiplier() {
+            return timeoutMultiplier;
+        }
+
+        public void setTimeoutMultiplier(double timeoutMultiplier) {
+            this.timeoutMultiplier = timeoutMultiplier;
+        }
+
+        public long getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(long minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public int getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public void setMaxBodyBytes(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.taskmanagement.gateway.filter;
+
+import com.taskmanagement.gateway.loadbalancer.InstanceStatsRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Feeds the outcome of every load-balanced request back into {@link InstanceStatsRegistry}: a
+ * request is in flight from the moment the load balancer picked its instance until it completes,
+ * fails or is cancelled, and its latency and failure (an error, a 5xx or a cancellation) are
+ * recorded then.
+ *
+ * This is a filter rather than a LoadBalancerLifecycle because the ReactiveLoadBalancerClientFilter
+ * does not call the lifecycle when the request is cancelled by the circuit breaker's time limiter
+ * or a client disconnect, which would leave the instance looking busy for good.
+ */
+@Component
+public class InstanceStatsFilter implements GlobalFilter, Ordered {
+
+    // Right after the load balancer has chosen the instance
+    private static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+
+    private final InstanceStatsRegistry stats;
+
+    public InstanceStatsFilter(InstanceStatsRegistry stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return chain.filter(exchange);
+        }
+
+        ServiceInstance instance = lbResponse.getServer();
+        stats.stats(instance).requestStarted();
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> stats.requestFinished(instance, System.nanoTime() - start, isFailure(exchange, signal)));
+    }
+
+    /**
+     * Timeouts reach this filter as cancellations, so they count against the instance like errors
+     */
+    private static boolean isFailure(ServerWebExchange exchange, SignalType signal) {
+        if (signal != SignalType.ON_COMPLETE) {
+            return true;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && status.is5xxServerError();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskmanagement.gateway.filter;
+
+import com.taskmanagement.gateway.metrics.GatewayRequestMetrics;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Times every routed request from the first gateway filter until the response is written, and
+ * splits that into the downstream call (measured by UpstreamTimingFilter) and the gateway's own
+ * share. Meters are tagged with the matched route id, so new routes need no metrics changes.
+ */
+@Component
+public class MetricsFilter implements GlobalFilter, Ordered {
+
+    static final String TIMING_ATTR = MetricsFilter.class.getName() + ".timing";
+
+    private static final String UNKNOWN_ROUTE = "unknown";
+
+    private final GatewayRequestMetrics metrics;
+
+    public MetricsFilter(GatewayRequestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Timing timing = new Timing(System.nanoTime());
+        exchange.getAttributes().put(TIMING_ATTR, timing);
+        metrics.requestStarted();
+
+        return chain.filter(exchange).doFinally(signal -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            metrics.requestFinished(
+                    route != null ? route.getId() : UNKNOWN_ROUTE,
+                    exchange.getRequest().getMethod(),
+                    exchange.getResponse().getStatusCode(),
+                    signal == SignalType.CANCEL,
+                    System.nanoTime() - timing.startNanos,
+                    timing.upstreamNanos);
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Start of the request and, once known, how long the downstream call took
+     */
+    static final class Timing {
+
+        private final long startNanos;
+        volatile long upstreamNanos = -1;
+
+        Timing(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.taskmanagement.gateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.gateway.ratelimit.RateLimitStore;
+import io.netty.handler.ipfilter.IpFilterRuleType;
+import io.netty.handler.ipfilter.IpSubnetFilterRule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.Inet4Address;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting per route, keyed by the verified user id when the route is
+ * authenticated and by client IP otherwise. The client IP is taken from X-Real-IP only when the
+ * request comes from a trusted proxy (nginx), since the gateway port can be reached directly.
+ * Every response carries X-RateLimit-Limit and
+ * X-RateLimit-Remaining; requests over the limit get a 429 with Retry-After.
+ *
+ * Routes defined in properties can set their limits inline, e.g.
+ * {@code filters[3]=RateLimiterFilter=200, 50} for 200 requests per second per user and 50 per IP.
+ */
+@Component
+@Slf4j
+public class RateLimiterFilter extends AbstractGatewayFilterFactory<RateLimiterFilter.Config> {
+
+    // After authentication, so buckets are per verified user, and before the response cache so hits count too
+    static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 3;
+
+    private static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimitStore store;
+    private final ObjectMapper objectMapper;
+    private final List<IpSubnetFilterRule> trustedProxies = new ArrayList<>();
+    private final Map<String, RouteBuckets> routeBuckets = new ConcurrentHashMap<>();
+
+    public RateLimiterFilter(RateLimitStore store, ObjectMapper objectMapper,
+                             @Value("${app.gateway.trusted-proxies:127.0.0.0/8,::1}") List<String> trustedProxies) {
+        super(Config.class);
+        this.store = store;
+        this.objectMapper = objectMapper;
+        for (String proxy : trustedProxies) {
+            if (StringUtils.hasText(proxy)) {
+                this.trustedProxies.add(subnet(proxy.trim()));
+            }
+        }
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("limitForPeriod", "ipLimitForPeriod", "limitRefreshPeriodInSeconds");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Bucket userBucket = new Bucket(config.getLimitForPeriod(), config.getBurstCapacity(), config.getLimitRefreshPeriodInSeconds());
+        Bucket ipBucket = new Bucket(config.getIpLimitForPeriod(), config.getIpLimitForPeriod(), config.getLimitRefreshPeriodInSeconds());
+        RouteBuckets configuredRoute = config.getRouteId() != null ? routeBuckets(config.getRouteId()) : null;
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            RouteBuckets route = configuredRoute != null ? configuredRoute : routeBuckets(routeId(exchange));
+            // Set by AuthenticationFilter only after the token was verified, so clients cannot pick their bucket
+            String userId = config.isUserBasedRateLimiting() ? exchange.getAttribute(AuthenticationFilter.USER_ID_ATTR) : null;
+            Bucket bucket = userId != null ? userBucket : ipBucket;
+            String client = userId != null ? userId : getClientIp(exchange);
+
+            long remaining = (userId != null ? route.users : route.ips)
+                    .tryAcquire(client, bucket.capacity, bucket.refillIntervalNanos);
+
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            headers.set(LIMIT_HEADER, bucket.limitHeader);
+            if (remaining >= 0) {
+                headers.set(REMAINING_HEADER, Long.toString(remaining));
+                return chain.filter(exchange);
+            }
+
+            log.warn("Rate limit exceeded for {} on route {}", client, route.routeId);
+            headers.set(REMAINING_HEADER, "0");
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(-remaining + 999_999_999))));
+            return onError(exchange);
+        }, ORDER);
+    }
+
+    private RouteBuckets routeBuckets(String routeId) {
+        return routeBuckets.computeIfAbsent(routeId, RouteBuckets::new);
+    }
+
+    private String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "default";
+    }
+
+    private String getClientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+
+        // nginx overwrites X-Real-IP with the address it saw, unlike X-Forwarded-For which clients can prefill;
+        // anyone else reaching the gateway port could set it to anything
+        if (isTrustedProxy(remoteAddress)) {
+            String xRealIp = exchange.getRequest().getHeaders().getFirst("X-Real-IP");
+            if (xRealIp != null && !xRealIp.isEmpty()) {
+                return xRealIp;
+            }
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
+
+    private boolean isTrustedProxy(InetSocketAddress address) {
+        for (IpSubnetFilterRule proxy : trustedProxies) {
+            if (proxy.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static IpSubnetFilterRule subnet(String cidr) {
+        int slash = cidr.indexOf('/');
+        String address = slash >= 0 ? cidr.substring(0, slash) : cidr;
+        int prefixLength = slash >= 0
+                ? Integer.parseInt(cidr.substring(slash + 1))
+                : new InetSocketAddress(address, 0).getAddress() instanceof Inet4Address ? 32 : 128;
+        return new IpSubnetFilterRule(address, prefixLength, IpFilterRuleType.ACCEPT);
+    }
+
+    private Mono<Void> onError(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now().toString());
+        errorResponse.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        errorResponse.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        errorResponse.put("message", "Too Many Requests");
+        errorResponse.put("path", exchange.getRequest().getPath().value());
+
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(errorResponse);
+            DataBuffer buffer = response.bufferFactory().wrap(bytes);
+            return response.writeWith(Mono.just(buffer));
+        } catch (JsonProcessingException e) {
+            log.error("Error writing error response", e);
+            return response.setComplete();
+        }
+    }
+
+    /**
+     * Bucket parameters derived once per route from its config
+     */
+    private static class Bucket {
+
+        private final long capacity;
+        private final long refillIntervalNanos;
+        private final String limitHeader;
+
+        Bucket(int limitForPeriod, int burstCapacity, int refreshPeriodInSeconds) {
+            if (limitForPeriod < 1 || refreshPeriodInSeconds < 1) {
+                throw new IllegalArgumentException("Rate limit and refresh period must be at least 1");
+            }
+            this.capacity = Math.max(burstCapacity, 1);
+            this.refillIntervalNanos = TimeUnit.SECONDS.toNanos(refreshPeriodInSeconds) / limitForPeriod;
+            this.limitHeader = Integer.toString(limitForPeriod);
+        }
+    }
+
+    /**
+     * Bucket groups of one route, looked up once so requests find their bucket by client key alone
+     */
+    private final class RouteBuckets {
+
+        private final String routeId;
+        private final RateLimitStore.Buckets users;
+        private final RateLimitStore.Buckets ips;
+
+        RouteBuckets(String routeId) {
+            this.routeId = routeId;
+            this.users = store.buckets(routeId + ":user");
+            this.ips = store.buckets(routeId + ":ip");
+        }
+    }
+
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int ipLimitForPeriod = 50;     // More restrictive for unauthenticated users
+        private int userLimitForPeriod = 100;  // More permissive for authenticated users
+        private int burstCapacity = 0;         // Defaults to the user limit
+        private int limitRefreshPeriodInSeconds = 1;
+        private boolean userBasedRateLimiting = true;
+
+        public int getIpLimitForPeriod() {
+            return ipLimitForPeriod;
+        }
+
+        public void setIpLimitForPeriod(int ipLimitForPeriod) {
+            this.ipLimitForPeriod = ipLimitForPeriod;
+        }
+
+        public int getUserLimitForPeriod() {
+            return userLimitForPeriod;
+        }
+
+        public void setUserLimitForPeriod(int userLimitForPeriod) {
+            this.userLimitForPeriod = userLimitForPeriod;
+        }
+
+        public int getLimitForPeriod() {
+            return userLimitForPeriod; // For backward compatibility
+        }
+
+        public void setLimitForPeriod(int limitForPeriod) {
+            this.userLimitForPeriod = limitForPeriod;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity > 0 ? burstCapacity : userLimitForPeriod;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getLimitRefreshPeriodInSeconds() {
+            return limitRefreshPeriodInSeconds;
+        }
+
+        public void setLimitRefreshPeriodInSeconds(int limitRefreshPeriodInSeconds) {
+            this.limitRefreshPeriodInSeconds = limitRefreshPeriodInSeconds;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        public boolean isUserBasedRateLimiting() {
+            return userBasedRateLimiting;
+        }
+
+        public void setUserBasedRateLimiting(boolean userBasedRateLimiting) {
+            this.userBasedRateLimiting = userBasedRateLimiting;
+        }
+    }
+}
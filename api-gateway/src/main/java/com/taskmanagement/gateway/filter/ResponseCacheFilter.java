@@ -0,0 +1,271 @@
+package com.taskmanagement.gateway.filter;
+
+import com.taskmanagement.gateway.cache.CachedResponse;
+import com.taskmanagement.gateway.cache.ResponseCache;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches successful GET responses per route and per caller, so repeated reads of the same
+ * resource are answered by the gateway. Freshness follows the downstream Cache-Control
+ * (capped by the route TTL); stale entries are revalidated with If-None-Match against the
+ * downstream ETag. Any POST, PUT, PATCH or DELETE through the route invalidates its entries.
+ * Always runs after the AuthenticationFilter, so responses are scoped to the verified user.
+ */
+@Component
+@Slf4j
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    // Before NettyWriteResponseFilter, which writes the downstream body through the response it was handed,
+    // so the caching decorator has to be in place by then
+    static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final Set<HttpMethod> MUTATING_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED);
+
+    private final ResponseCache cache;
+
+    public ResponseCacheFilter(ResponseCache cache) {
+        super(Config.class);
+        this.cache = cache;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttlSeconds", "maxBodyBytes");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        long maxFreshNanos = TimeUnit.SECONDS.toNanos(config.getTtlSeconds());
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String routeId = routeId(exchange);
+
+            if (MUTATING_METHODS.contains(request.getMethod())) {
+                // Invalidate once the change is done, so no read from before it can be served afterwards
+                return chain.filter(exchange).doFinally(signal -> cache.invalidateRoute(routeId));
+            }
+            if (!HttpMethod.GET.equals(request.getMethod()) || hasDirective(request.getHeaders(), "no-store")) {
+                return chain.filter(exchange);
+            }
+
+            String userId = exchange.getAttribute(AuthenticationFilter.USER_ID_ATTR);
+            String scope = userId != null ? "user:" + userId : "public";
+            String query = request.getURI().getRawQuery();
+            String key = cache.key(routeId, scope, query != null ? request.getURI().getRawPath() + '?' + query : request.getURI().getRawPath());
+            String clientEtag = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+
+            CachedResponse cached = cache.get(key);
+            if (cached != null && cached.isFresh() && !hasDirective(request.getHeaders(), "no-cache")) {
+                cache.record(routeId, ResponseCache.Result.HIT);
+                return writeCached(exchange.getResponse(), cached, clientEtag, "HIT");
+            }
+
+            ServerWebExchange forwarded = exchange;
+            CachedResponse revalidating = cached != null && cached.getEtag() != null ? cached : null;
+            if (revalidating != null) {
+                forwarded = exchange.mutate()
+                        .request(request.mutate().headers(headers -> headers.setIfNoneMatch(revalidating.getEtag())).build())
+                        .build();
+            }
+
+            CachingResponse response = new CachingResponse(exchange.getResponse(), routeId, key, scope,
+                    revalidating, clientEtag, maxFreshNanos, config.getMaxBodyBytes());
+            return chain.filter(forwarded.mutate().response(response).build());
+        }, ORDER);
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached, String clientEtag, String cacheStatus) {
+        HttpHeaders headers = response.getHeaders();
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        cached.getHeaders().forEach(headers::put);
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+        if (cached.getEtag() != null && clientEtag != null && opaqueTag(cached.getEtag()).equals(opaqueTag(clientEtag))) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    /**
+     * If-None-Match uses weak comparison, and compressed responses reach clients with a weak ETag
+     */
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "default";
+    }
+
+    private static boolean hasDirective(HttpHeaders headers, String directive) {
+        String cacheControl = headers.getCacheControl();
+        return (cacheControl != null && cacheControl.toLowerCase().contains(directive))
+                || ("no-cache".equals(directive) && "no-cache".equalsIgnoreCase(headers.getPragma()));
+    }
+
+    /**
+     * How long a response may be served without revalidation, from its Cache-Control and capped by the route TTL
+     */
+    private static long freshForNanos(HttpHeaders headers, long maxFreshNanos) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return maxFreshNanos;
+        }
+
+        long freshFor = maxFreshNanos;
+        for (String directive : cacheControl.toLowerCase().split(",")) {
+            String trimmed = directive.trim();
+            if (trimmed.equals("no-cache")) {
+                return 0;
+            }
+            if (trimmed.startsWith("max-age=") || trimmed.startsWith("s-maxage=")) {
+                try {
+                    long seconds = Long.parseLong(trimmed.substring(trimmed.indexOf('=') + 1));
+                    freshFor = Math.min(freshFor, TimeUnit.SECONDS.toNanos(Math.max(seconds, 0)));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return freshFor;
+    }
+
+    /**
+     * Captures a 200 body on its way to the client, or turns the downstream 304 of a revalidation
+     * back into the cached response
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String routeId;
+        private final String key;
+        private final String scope;
+        private final CachedResponse revalidating;
+        private final String clientEtag;
+        private final long maxFreshNanos;
+        private final int maxBodyBytes;
+
+        CachingResponse(ServerHttpResponse delegate, String routeId, String key, String scope,
+                        CachedResponse revalidating, String clientEtag, long maxFreshNanos, int maxBodyBytes) {
+            super(delegate);
+            this.routeId = routeId;
+            this.key = key;
+            this.scope = scope;
+            this.revalidating = revalidating;
+            this.clientEtag = clientEtag;
+            this.maxFreshNanos = maxFreshNanos;
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+
+            if (revalidating != null && HttpStatus.NOT_MODIFIED.equals(getStatusCode())) {
+                revalidating.revalidated(freshForNanos(headers, maxFreshNanos));
+                cache.record(routeId, ResponseCache.Result.REVALIDATED);
+                return Flux.from(body).doOnNext(DataBufferUtils::release).then(writeCached(getDelegate(), revalidating, clientEtag, "REVALIDATED"));
+            }
+
+            cache.record(routeId, ResponseCache.Result.MISS);
+            headers.set(CACHE_STATUS_HEADER, "MISS");
+            if (!isStorable(headers)) {
+                return super.writeWith(body);
+            }
+
+            // Taken now: decorators closer to the client (compression) may still rewrite the headers
+            HttpHeaders stored = new HttpHeaders();
+            STORED_HEADERS.forEach(name -> {
+                List<String> values = headers.get(name);
+                if (values != null) {
+                    stored.put(name, List.copyOf(values));
+                }
+            });
+            long freshForNanos = freshForNanos(headers, maxFreshNanos);
+
+            return super.writeWith(DataBufferUtils.join(body).map(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                if (bytes.length <= maxBodyBytes) {
+                    cache.put(key, new CachedResponse(stored, bytes, freshForNanos));
+                }
+                return bufferFactory().wrap(bytes);
+            }));
+        }
+
+        private boolean isStorable(HttpHeaders headers) {
+            if (!HttpStatus.OK.equals(getStatusCode()) || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+                return false;
+            }
+            if (hasDirective(headers, "no-store")) {
+                return false;
+            }
+            // Private responses are only kept when the entry is scoped to a single user
+            if (hasDirective(headers, "private") && "public".equals(scope)) {
+                return false;
+            }
+            long contentLength = headers.getContentLength();
+            return contentLength < 0 || contentLength <= maxBodyBytes;
+        }
+    }
+
+    public static class Config {
+        private long ttlSeconds = 30;
+        private int maxBodyBytes = 256 * 1024;
+
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        public int getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public void setMaxBodyBytes(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+    }
+}
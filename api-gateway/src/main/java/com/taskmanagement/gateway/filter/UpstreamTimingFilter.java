@@ -0,0 +1,44 @@
+package com.taskmanagement.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Runs right before the request is sent downstream and measures how long the downstream service
+ * takes to answer with response headers, for MetricsFilter. Requests the gateway answers itself
+ * (cache hits, rejections, forwards to the fallback controller) are not timed here.
+ */
+@Component
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        MetricsFilter.Timing timing = exchange.getAttribute(MetricsFilter.TIMING_ATTR);
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (timing == null || requestUrl == null || !isHttp(requestUrl.getScheme())) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        // Recorded before completion is passed on, so the outer MetricsFilter already sees it
+        Runnable record = () -> timing.upstreamNanos = System.nanoTime() - start;
+        return chain.filter(exchange).doOnTerminate(record).doOnCancel(record);
+    }
+
+    private static boolean isHttp(String scheme) {
+        return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+}
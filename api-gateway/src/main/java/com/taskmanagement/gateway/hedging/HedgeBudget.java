@@ -0,0 +1,37 @@
+package com.taskmanagement.gateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedged requests at a fraction of a route's traffic. Every request earns {@code ratio} of a
+ * hedge and each hedge spends a whole one, so a route never sends more than {@code ratio} extra
+ * requests on average; at most {@code burst} unspent hedges are kept for bursts of slow responses.
+ */
+public class HedgeBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long earnedPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    public HedgeBudget(double ratio, int burst) {
+        this.earnedPerRequest = Math.round(ratio * SCALE);
+        this.maxBalance = Math.max(burst, 1) * SCALE;
+    }
+
+    public void onRequest() {
+        balance.accumulateAndGet(earnedPerRequest, (current, earned) -> Math.min(current + earned, maxBalance));
+    }
+
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmanagement.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load of one service instance as seen by this gateway: requests in flight, a peak-sensitive
+ * moving average of latency, and a moving error rate that can eject the instance for a while.
+ *
+ * Latency jumps straight to any slower sample and decays towards faster ones with the time since
+ * the last sample, so a GC pause or overload shows up on the next response rather than after
+ * many, and a recovered instance wins traffic back within a few decay periods.
+ */
+public class InstanceStats {
+
+    private static final double ERROR_RATE_WEIGHT = 0.1;
+
+    private final double decayNanos;
+    private final double initialLatencyNanos;
+    private final double ejectionErrorRate;
+    private final int ejectionMinRequests;
+    private final long ejectionNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double latencyNanos = -1;
+    private long lastSampleNanos;
+    private double errorRate;
+    private int completions;
+    private volatile long ejectedUntilNanos;
+
+    public InstanceStats(long decayNanos, long initialLatencyNanos,
+                         double ejectionErrorRate, int ejectionMinRequests, long ejectionNanos) {
+        this.decayNanos = decayNanos;
+        this.initialLatencyNanos = initialLatencyNanos;
+        this.ejectionErrorRate = ejectionErrorRate;
+        this.ejectionMinRequests = ejectionMinRequests;
+        this.ejectionNanos = ejectionNanos;
+    }
+
+    public void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * @return true if this response got the instance ejected
+     */
+    public synchronized boolean requestFinished(long latency, boolean failed, long now) {
+        inFlight.updateAndGet(current -> Math.max(current - 1, 0));
+
+        if (latencyNanos < 0 || latency > latencyNanos) {
+            latencyNanos = latency;
+        } else {
+            double weight = Math.exp(-(now - lastSampleNanos) / decayNanos);
+            latencyNanos = latencyNanos * weight + latency * (1 - weight);
+        }
+        lastSampleNanos = now;
+
+        errorRate = errorRate * (1 - ERROR_RATE_WEIGHT) + (failed ? ERROR_RATE_WEIGHT : 0);
+        completions++;
+        if (completions >= ejectionMinRequests && errorRate >= ejectionErrorRate) {
+            ejectedUntilNanos = now + ejectionNanos;
+            // Judge the instance afresh once the cooldown is over
+            errorRate = 0;
+            completions = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Expected cost of sending one more request here; lower is better
+     */
+    public double score() {
+        double latency = latencyNanos;
+        return (latency < 0 ? initialLatencyNanos : latency) * (inFlight.get() + 1);
+    }
+
+    public boolean isEjected(long now) {
+        return now - ejectedUntilNanos < 0;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public double getLatencyNanos() {
+        return latencyNanos;
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmanagement.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stats of every instance the gateway has balanced over, shared by the per-service load
+ * balancers and published as gateway.lb.instance.* gauges tagged with service and instance.
+ */
+@Component
+@Slf4j
+public class InstanceStatsRegistry {
+
+    private final Map<String, InstanceStats> instances = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long decayNanos;
+    private final long initialLatencyNanos;
+    private final double ejectionErrorRate;
+    private final int ejectionMinRequests;
+    private final long ejectionNanos;
+
+    public InstanceStatsRegistry(MeterRegistry meterRegistry,
+                                 @Value("${app.gateway.load-balancer.decay-seconds:10}") long decaySeconds,
+                                 @Value("${app.gateway.load-balancer.initial-latency-ms:100}") long initialLatencyMs,
+                                 @Value("${app.gateway.load-balancer.ejection.error-rate:0.5}") double ejectionErrorRate,
+                                 @Value("${app.gateway.load-balancer.ejection.min-requests:10}") int ejectionMinRequests,
+                                 @Value("${app.gateway.load-balancer.ejection.cooldown-seconds:15}") long ejectionSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.decayNanos = TimeUnit.SECONDS.toNanos(decaySeconds);
+        this.initialLatencyNanos = TimeUnit.MILLISECONDS.toNanos(initialLatencyMs);
+        this.ejectionErrorRate = ejectionErrorRate;
+        this.ejectionMinRequests = ejectionMinRequests;
+        this.ejectionNanos = TimeUnit.SECONDS.toNanos(ejectionSeconds);
+    }
+
+    public InstanceStats stats(ServiceInstance instance) {
+        String key = key(instance);
+        InstanceStats stats = instances.get(key);
+        if (stats == null) {
+            stats = instances.computeIfAbsent(key, k -> register(instance));
+        }
+        return stats;
+    }
+
+    /**
+     * Record a finished request, ejecting the instance if its error rate got too high
+     */
+    public void requestFinished(ServiceInstance instance, long latencyNanos, boolean failed) {
+        if (stats(instance).requestFinished(latencyNanos, failed, System.nanoTime())) {
+            log.warn("Ejecting {} instance {} for {} s after repeated errors",
+                    instance.getServiceId(), key(instance), TimeUnit.NANOSECONDS.toSeconds(ejectionNanos));
+        }
+    }
+
+    private InstanceStats register(ServiceInstance instance) {
+        InstanceStats stats = new InstanceStats(decayNanos, initialLatencyNanos, ejectionErrorRate, ejectionMinRequests, ejectionNanos);
+        String service = String.valueOf(instance.getServiceId());
+        String address = instance.getHost() + ":" + instance.getPort();
+
+        Gauge.builder("gateway.lb.instance.score", stats, InstanceStats::score)
+                .tag("service", service).tag("instance", address)
+                .description("Load balancing score, latency times requests in flight; lower gets more traffic")
+                .register(meterRegistry);
+        Gauge.builder("gateway.lb.instance.latency", stats, s -> Math.max(s.getLatencyNanos(), 0) / 1e9)
+                .tag("service", service).tag("instance", address)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("gateway.lb.instance.inflight", stats, InstanceStats::getInFlight)
+                .tag("service", service).tag("instance", address)
+                .register(meterRegistry);
+        Gauge.builder("gateway.lb.instance.ejected", stats, s -> s.isEjected(System.nanoTime()) ? 1 : 0)
+                .tag("service", service).tag("instance", address)
+                .register(meterRegistry);
+        return stats;
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "/" + instance.getHost() + ":" + instance.getPort();
+    }
+}
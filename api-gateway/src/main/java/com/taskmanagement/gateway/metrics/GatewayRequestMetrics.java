@@ -0,0 +1,127 @@
+package com.taskmanagement.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Timers for routed requests, tagged by route, method and status class.
+ *
+ * Each (route, method, status class) gets its timers on first use and keeps them in a fixed-size
+ * table per route, so recording a request looks up existing meters without building tags, keys
+ * or maps. Percentiles and SLO buckets are configured in MetricsConfig.
+ */
+@Component
+public class GatewayRequestMetrics {
+
+    public static final String REQUESTS = "gateway.requests";
+    public static final String UPSTREAM = "gateway.requests.upstream";
+    public static final String INTERNAL = "gateway.requests.internal";
+
+    private static final HttpMethod[] METHODS = {
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.POST, HttpMethod.PUT,
+            HttpMethod.PATCH, HttpMethod.DELETE, HttpMethod.OPTIONS, HttpMethod.TRACE};
+    private static final String OTHER_METHOD = "OTHER";
+
+    private static final String[] STATUS_CLASSES = {"UNKNOWN", "1xx", "2xx", "3xx", "4xx", "5xx", "CANCELLED"};
+    private static final int CANCELLED = STATUS_CLASSES.length - 1;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicReferenceArray<Timers>> routes = new ConcurrentHashMap<>();
+    private final AtomicInteger activeRequests;
+
+    public GatewayRequestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.activeRequests = meterRegistry.gauge("gateway.requests.active", new AtomicInteger(0));
+    }
+
+    public void requestStarted() {
+        activeRequests.incrementAndGet();
+    }
+
+    /**
+     * @param status response status, or null if none was set
+     * @param upstreamNanos time spent waiting on the downstream service, or a negative value if
+     *                      the request was answered by the gateway itself
+     */
+    public void requestFinished(String routeId, HttpMethod method, HttpStatusCode status, boolean cancelled,
+                                long totalNanos, long upstreamNanos) {
+        activeRequests.decrementAndGet();
+
+        Timers timers = timers(routeId, methodIndex(method), cancelled ? CANCELLED : statusIndex(status));
+        timers.total.record(totalNanos, TimeUnit.NANOSECONDS);
+        if (upstreamNanos >= 0) {
+            timers.upstream.record(upstreamNanos, TimeUnit.NANOSECONDS);
+            timers.internal.record(Math.max(totalNanos - upstreamNanos, 0), TimeUnit.NANOSECONDS);
+        } else {
+            timers.internal.record(totalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timers timers(String routeId, int methodIndex, int statusIndex) {
+        AtomicReferenceArray<Timers> table = routes.get(routeId);
+        if (table == null) {
+            table = routes.computeIfAbsent(routeId, id -> new AtomicReferenceArray<>((METHODS.length + 1) * STATUS_CLASSES.length));
+        }
+
+        int cell = methodIndex * STATUS_CLASSES.length + statusIndex;
+        Timers timers = table.get(cell);
+        if (timers == null) {
+            // Registering the same meter twice returns the existing one, so a lost race is harmless
+            table.compareAndSet(cell, null, new Timers(routeId, methodName(methodIndex), STATUS_CLASSES[statusIndex]));
+            timers = table.get(cell);
+        }
+        return timers;
+    }
+
+    private static int methodIndex(HttpMethod method) {
+        for (int i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        return METHODS.length;
+    }
+
+    private static String methodName(int methodIndex) {
+        return methodIndex < METHODS.length ? METHODS[methodIndex].name() : OTHER_METHOD;
+    }
+
+    private static int statusIndex(HttpStatusCode status) {
+        if (status == null) {
+            return 0;
+        }
+        int statusClass = status.value() / 100;
+        return statusClass >= 1 && statusClass <= 5 ? statusClass : 0;
+    }
+
+    private class Timers {
+
+        private final Timer total;
+        private final Timer upstream;
+        private final Timer internal;
+
+        Timers(String routeId, String method, String status) {
+            this.total = timer(REQUESTS, "Time from route match until the response is written", routeId, method, status);
+            this.upstream = timer(UPSTREAM, "Time until the downstream service returned response headers", routeId, method, status);
+            this.internal = timer(INTERNAL, "Time spent in the gateway itself, excluding the downstream call", routeId, method, status);
+        }
+
+        private Timer timer(String name, String description, String routeId, String method, String status) {
+            return Timer.builder(name)
+                    .tag("route", routeId)
+                    .tag("method", method)
+                    .tag("status", status)
+                    .description(description)
+                    .register(meterRegistry);
+        }
+    }
+}
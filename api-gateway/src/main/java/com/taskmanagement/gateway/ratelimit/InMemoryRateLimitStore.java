@@ -0,0 +1,65 @@
+package com.taskmanagement.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets kept in this gateway instance.
+ *
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (the "theoretical arrival time" of the generic cell rate algorithm), so taking a token is one
+ * compare-and-set with no locks and no per-request objects. Buckets are held per client key in a
+ * bounded map, with one bucket per group the client has used, and evicted once the client is
+ * idle; an idle bucket is full again anyway, so eviction loses nothing as long as the idle
+ * timeout is longer than the time to refill a bucket.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, Map<LocalBuckets, AtomicLong>> clients;
+    private final Map<String, LocalBuckets> groups = new ConcurrentHashMap<>();
+
+    public InMemoryRateLimitStore(long maxKeys, Duration idleTimeout) {
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Buckets buckets(String name) {
+        return groups.computeIfAbsent(name, group -> new LocalBuckets());
+    }
+
+    private final class LocalBuckets implements Buckets {
+
+        @Override
+        public long tryAcquire(String key, long capacity, long refillIntervalNanos) {
+            Map<LocalBuckets, AtomicLong> buckets = clients.get(key, k -> new ConcurrentHashMap<>(4));
+            AtomicLong fullAt = buckets.get(this);
+            if (fullAt == null) {
+                fullAt = buckets.computeIfAbsent(this, group -> new AtomicLong(Long.MIN_VALUE));
+            }
+            // A request may arrive this far ahead of the steady rate and still find a token
+            long burstTolerance = refillIntervalNanos * (capacity - 1);
+
+            while (true) {
+                long now = System.nanoTime();
+                long current = fullAt.get();
+                long tat = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                long aheadBy = tat - now;
+
+                if (aheadBy > burstTolerance) {
+                    return -(aheadBy - burstTolerance);
+                }
+                if (fullAt.compareAndSet(current, tat + refillIntervalNanos)) {
+                    return (burstTolerance - aheadBy) / refillIntervalNanos;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskmanagement.gateway.ratelimit;
+
+/**
+ * Stand-in for a shared bucket store when several gateway nodes sit behind a load balancer.
+ * Instead of coordinating over the network, each node enforces its share of the limit, so
+ * the cluster as a whole allows roughly the configured rate when traffic is spread evenly.
+ * A store backed by a shared cache can replace it without touching the filter.
+ */
+public class PartitionedRateLimitStore implements RateLimitStore {
+
+    private final RateLimitStore local;
+    private final int nodes;
+
+    public PartitionedRateLimitStore(RateLimitStore local, int nodes) {
+        if (nodes < 1) {
+            throw new IllegalArgumentException("Number of gateway nodes must be at least 1");
+        }
+        this.local = local;
+        this.nodes = nodes;
+    }
+
+    @Override
+    public Buckets buckets(String name) {
+        Buckets localBuckets = local.buckets(name);
+        return (key, capacity, refillIntervalNanos) ->
+                localBuckets.tryAcquire(key, Math.max(1, capacity / nodes), refillIntervalNanos * nodes);
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskmanagement.gateway.ratelimit;
+
+/**
+ * Holds the token buckets behind the gateway rate limiter. Implementations decide where
+ * bucket state lives, e.g. in this process or shared between gateway nodes.
+ */
+public interface RateLimitStore {
+
+    /**
+     * The group of buckets with the given name, e.g. the per-user buckets of one route. Callers
+     * look it up once and keep it, so requests only need the client key to find their bucket.
+     * @param name the group name, e.g. route and client kind; the same name returns the same buckets
+     */
+    Buckets buckets(String name);
+
+    /**
+     * Token buckets of one group, one per client key
+     */
+    interface Buckets {
+
+        /**
+         * Take one token from the bucket of the given client, creating a full bucket if there is none
+         * @param key the client key, e.g. a user id or IP address
+         * @param capacity the most tokens the bucket can hold
+         * @param refillIntervalNanos how long it takes to add one token back
+         * @return the tokens left after this request, or, if the bucket is empty, a negative number
+         *         whose magnitude is the nanoseconds until the next token is available
+         */
+        long tryAcquire(String key, long capacity, long refillIntervalNanos);
+    }
+}
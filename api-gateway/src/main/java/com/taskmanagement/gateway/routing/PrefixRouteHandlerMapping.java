@@ -0,0 +1,152 @@
+package com.taskmanagement.gateway.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR;
+
+/**
+ * Route lookup that only evaluates the predicates of routes whose Path prefix matches the
+ * request, instead of testing every route in turn.
+ *
+ * The route table is compiled into a {@link RoutePrefixTrie} each time the gateway refreshes its
+ * routes (at startup, and after /actuator/refresh or /actuator/gateway/refresh), so route
+ * definitions can change without a restart. Until the first table is built, lookup falls back to
+ * the default linear scan.
+ */
+@Slf4j
+public class PrefixRouteHandlerMapping extends RoutePredicateHandlerMapping
+        implements ApplicationListener<RefreshRoutesResultEvent> {
+
+    private static final String PATH_PREDICATE = "Path";
+    private static final String MATCH_TRAILING_SLASH_ARG = "matchTrailingSlash";
+
+    private final RouteLocator routeLocator;
+    private final RouteDefinitionLocator routeDefinitionLocator;
+
+    private volatile RouteTable table;
+
+    public PrefixRouteHandlerMapping(FilteringWebHandler webHandler,
+                                     RouteLocator routeLocator,
+                                     RouteDefinitionLocator routeDefinitionLocator,
+                                     GlobalCorsProperties globalCorsProperties,
+                                     Environment environment) {
+        super(webHandler, routeLocator, globalCorsProperties, environment);
+        this.routeLocator = routeLocator;
+        this.routeDefinitionLocator = routeDefinitionLocator;
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRoutesResultEvent event) {
+        if (!event.isSuccess()) {
+            log.warn("Route refresh failed, keeping the current route table", event.getThrowable());
+            return;
+        }
+
+        Mono.zip(routeLocator.getRoutes().collectList(), routeDefinitionLocator.getRouteDefinitions().collectList())
+                .map(routesAndDefinitions -> RouteTable.compile(routesAndDefinitions.getT1(), routesAndDefinitions.getT2()))
+                .subscribe(
+                        compiled -> {
+                            table = compiled;
+                            log.info("Compiled route table with {} routes", compiled.routes.size());
+                        },
+                        error -> log.error("Could not compile the route table, keeping the current one", error));
+    }
+
+    @Override
+    protected Mono<Route> lookupRoute(ServerWebExchange exchange) {
+        RouteTable current = table;
+        if (current == null) {
+            return super.lookupRoute(exchange);
+        }
+
+        BitSet candidates = current.trie.candidates(exchange.getRequest().getPath().pathWithinApplication().value());
+        if (candidates.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Flux.fromStream(candidates.stream().mapToObj(current.routes::get))
+                .concatMap(route -> Mono.just(route)
+                        .filterWhen(candidate -> {
+                            exchange.getAttributes().put(GATEWAY_PREDICATE_ROUTE_ATTR, candidate.getId());
+                            return candidate.getPredicate().apply(exchange);
+                        })
+                        .doOnError(e -> log.error("Error applying predicate for route: {}", route.getId(), e))
+                        .onErrorResume(e -> Mono.empty()))
+                .next()
+                .map(route -> {
+                    validateRoute(route, exchange);
+                    return route;
+                });
+    }
+
+    /**
+     * Routes in match order with the prefix index over them
+     */
+    private static final class RouteTable {
+
+        private final List<Route> routes;
+        private final RoutePrefixTrie trie;
+
+        private RouteTable(List<Route> routes, RoutePrefixTrie trie) {
+            this.routes = routes;
+            this.trie = trie;
+        }
+
+        static RouteTable compile(List<Route> routes, List<RouteDefinition> definitions) {
+            Map<String, List<String>> pathPatterns = new HashMap<>();
+            for (RouteDefinition definition : definitions) {
+                pathPatterns.put(definition.getId(), pathPatterns(definition));
+            }
+
+            RoutePrefixTrie trie = new RoutePrefixTrie();
+            for (int i = 0; i < routes.size(); i++) {
+                // Routes not defined through a RouteDefinition are not indexed and stay candidates for every path
+                trie.add(i, pathPatterns.getOrDefault(routes.get(i).getId(), List.of()));
+            }
+            return new RouteTable(List.copyOf(routes), trie);
+        }
+
+        private static List<String> pathPatterns(RouteDefinition definition) {
+            for (PredicateDefinition predicate : definition.getPredicates()) {
+                if (PATH_PREDICATE.equals(predicate.getName())) {
+                    List<String> patterns = new ArrayList<>();
+                    for (Map.Entry<String, String> arg : predicate.getArgs().entrySet()) {
+                        if (MATCH_TRAILING_SLASH_ARG.equals(arg.getKey())) {
+                            continue;
+                        }
+                        for (String pattern : arg.getValue().split(",")) {
+                            String trimmed = pattern.trim();
+                            if (!trimmed.startsWith("/")) {
+                                // Not a plain path pattern, so let the route be tried for every request
+                                return List.of();
+                            }
+                            patterns.add(trimmed);
+                        }
+                    }
+                    return patterns;
+                }
+            }
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.taskmanagement.gateway.routing;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index from literal path prefixes to the routes that may match them.
+ *
+ * Each route is registered under the literal segments of its Path patterns up to the first
+ * wildcard or template variable, e.g. {@code /api/projects/**} under {@code api/projects}.
+ * Looking up a request path walks the trie one segment at a time and collects every route seen
+ * on the way, so only routes whose prefix matches have their predicates evaluated. Routes are
+ * identified by their position in the route table and returned in that order.
+ */
+public class RoutePrefixTrie {
+
+    private final Node root = new Node();
+    private int routeCount;
+
+    /**
+     * @param routeIndex position of the route in the route table
+     * @param pathPatterns the route's Path predicate patterns; empty if it matches any path
+     */
+    public void add(int routeIndex, List<String> pathPatterns) {
+        routeCount = Math.max(routeCount, routeIndex + 1);
+        if (pathPatterns.isEmpty()) {
+            root.routes.set(routeIndex);
+            return;
+        }
+
+        for (String pattern : pathPatterns) {
+            Node node = root;
+            for (String segment : segments(pattern)) {
+                if (isWildcard(segment)) {
+                    break;
+                }
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+            node.routes.set(routeIndex);
+        }
+    }
+
+    /**
+     * @return indexes of the routes that may match the path, in route table order
+     */
+    public BitSet candidates(String path) {
+        BitSet candidates = new BitSet(routeCount);
+        Node node = root;
+        candidates.or(node.routes);
+
+        int start = 0;
+        int length = path.length();
+        while (start < length && node != null) {
+            if (path.charAt(start) == '/') {
+                start++;
+                continue;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.children.get(path.substring(start, end));
+            if (node != null) {
+                candidates.or(node.routes);
+            }
+            start = end;
+        }
+        return candidates;
+    }
+
+    private static List<String> segments(String pattern) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : pattern.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static boolean isWildcard(String segment) {
+        return segment.contains("*") || segment.contains("{") || segment.contains("?");
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final BitSet routes = new BitSet();
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskmanagement.gateway.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Signs the identity headers the gateway forwards so downstream services can trust them
+ * without verifying the JWT again. The signature is an HMAC-SHA256 over
+ * {@code id \n email \n name \n role \n expires} keyed with a secret shared by the gateway
+ * and the services behind it.
+ */
+@Component
+@Slf4j
+public class IdentityHeaderSigner {
+
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_EMAIL = "X-User-Email";
+    public static final String USER_NAME = "X-User-Name";
+    public static final String USER_ROLE = "X-User-Role";
+    public static final String USER_EXPIRES = "X-User-Expires";
+    public static final String USER_SIGNATURE = "X-User-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKeySpec key;
+
+    public IdentityHeaderSigner(@Value("${app.gateway.identity-secret:}") String secret) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            log.warn("Gateway identity secret is missing or shorter than {} bytes; identity headers will not be signed",
+                    MIN_SECRET_BYTES);
+            this.key = null;
+        } else {
+            this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        }
+    }
+
+    public boolean isEnabled() {
+        return key != null;
+    }
+
+    /**
+     * @param name the URL-encoded display name, exactly as it is sent in the header
+     * @return the Base64url signature, or null if signing is disabled
+     */
+    public String sign(String userId, String email, String name, String role, long expiresEpochSeconds) {
+        if (key == null) {
+            return null;
+        }
+
+        String canonical = String.join("\n", userId, email, name, role, Long.toString(expiresEpochSeconds));
+        try {
+            // Mac instances are not thread-safe, so take a fresh one per signature
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign identity headers", e);
+        }
+    }
+}
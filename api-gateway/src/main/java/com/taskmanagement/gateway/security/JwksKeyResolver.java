@@ -0,0 +1,140 @@
+package com.taskmanagement.gateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves token signing keys from the auth service JWKS endpoint.
+ * The key set is cached in memory and refreshed in the background, so verification
+ * stays local; a token with an unknown key id triggers an early, rate-limited refresh
+ * to pick up a rotated key. That refresh runs on the scheduler, off the event loop.
+ */
+@Component
+@Slf4j
+public class JwksKeyResolver extends SigningKeyResolverAdapter implements InitializingBean, DisposableBean {
+
+    // Unknown key ids may come from forged tokens, so they cannot force a fetch more often than this
+    private static final long MIN_REFRESH_INTERVAL_MS = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI jwksUri;
+    private final long refreshIntervalMs;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshMillis;
+
+    public JwksKeyResolver(@Value("${app.jwt.jwks-uri}") String jwksUri,
+                           @Value("${app.jwt.jwks-refresh-interval-ms:300000}") long refreshIntervalMs) {
+        this.jwksUri = URI.create(jwksUri);
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            throw new SignatureException("Token has no key id");
+        }
+
+        PublicKey key = keys.get(kid);
+        if (key == null && System.currentTimeMillis() - lastRefreshMillis > MIN_REFRESH_INTERVAL_MS) {
+            // Never block the event loop on a fetch; the retry after the refresh will succeed
+            lastRefreshMillis = System.currentTimeMillis();
+            scheduler.execute(this::refreshQuietly);
+        }
+        if (key == null) {
+            throw new SignatureException("Unknown signing key: " + kid);
+        }
+        return key;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Failed to refresh JWKS from {}: {}", jwksUri, e.getMessage());
+        }
+    }
+
+    private synchronized void refresh() throws Exception {
+        lastRefreshMillis = System.currentTimeMillis();
+
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(jwksUri).timeout(Duration.ofSeconds(5)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("JWKS endpoint returned " + response.statusCode());
+        }
+
+        Map<String, PublicKey> refreshed = new HashMap<>();
+        for (JsonNode jwk : objectMapper.readTree(response.body()).path("keys")) {
+            if ("EC".equals(jwk.path("kty").asText()) && "P-256".equals(jwk.path("crv").asText())) {
+                refreshed.put(jwk.path("kid").asText(), toPublicKey(jwk));
+            }
+        }
+
+        if (!refreshed.isEmpty()) {
+            keys = Map.copyOf(refreshed);
+            log.debug("Loaded {} JWT verification keys", refreshed.size());
+        }
+    }
+
+    private PublicKey toPublicKey(JsonNode jwk) throws Exception {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECPoint point = new ECPoint(
+                new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("x").asText())),
+                new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("y").asText())));
+        return KeyFactory.getInstance("EC")
+                .generatePublic(new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+    }
+}
@@ -1,38 +1,48 @@
 package com.taskmanagement.gateway.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-import java.util.Date;
-
 @Component
 @Slf4j
 public class JwtUtil {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
-
     @Value("${app.jwt.issuer}")
     private String issuer;
 
+    private final JwtParser parser;
+
+    public JwtUtil(JwksKeyResolver keyResolver) {
+        // Tokens are signed by auth-service with ES256; keys come from its JWKS endpoint
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyResolver)
+                .build();
+    }
+
     /**
      * Validate the JWT token
      * @param token The JWT token to validate
      * @return true if the token is valid, false otherwise
      */
     public boolean validateToken(String token) {
+        return parseValidClaims(token) != null;
+    }
+
+    /**
+     * Verify the signature, issuer and expiry of a token and return its claims, parsing it only once
+     * @param token The JWT token
+     * @return The claims, or null if the token is invalid or expired
+     */
+    public Claims parseValidClaims(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (issuer != null && claims.getIssuer() != null && !issuer.equals(claims.getIssuer())) {
+                log.error("Unexpected JWT issuer: {}", claims.getIssuer());
+                return null;
+            }
+            return claims;
         } catch (SignatureException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -44,75 +54,6 @@ public class JwtUtil {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
-    }
-
-    /**
-     * Extract user id from the JWT token
-     * @param token The JWT token
-     * @return The user id
-     */
-    public Long getUserIdFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.get("id", Long.class);
-    }
-
-    /**
-     * Extract username from the JWT token
-     * @param token The JWT token
-     * @return The username
-     */
-    public String getUsernameFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.get("email", String.class);
-    }
-
-    /**
-     * Extract role from the JWT token
-     * @param token The JWT token
-     * @return The role
-     */
-    public String getRoleFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.get("role", String.class);
-    }
-
-    /**
-     * Check if the token is expired
-     * @param token The JWT token
-     * @return true if the token is expired, false otherwise
-     */
-    public boolean isTokenExpired(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            Date expirationDate = claims.getExpiration();
-            return expirationDate.before(new Date());
-        } catch (Exception e) {
-            return true;
-        }
+        return null;
     }
 }
@@ -0,0 +1,133 @@
+package com.taskmanagement.gateway.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mirrors the access token revocations of the auth service, so tokens of users who logged out,
+ * reset their password or were locked stop passing the gateway within one poll interval
+ * rather than when they expire. The feed is polled in the background with only the changes
+ * since the last poll; the gateway authenticates with signed X-User-* headers of role SERVICE.
+ * While the auth service cannot be reached, the last known revocations stay in force.
+ */
+@Component
+@Slf4j
+public class TokenRevocationFeed implements InitializingBean, DisposableBean {
+
+    private static final String SERVICE_ROLE = "SERVICE";
+    private static final String SERVICE_NAME = "api-gateway";
+    private static final long SIGNATURE_TTL_SECONDS = 60;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final IdentityHeaderSigner signer;
+    private final String revocationsUri;
+    private final long pollIntervalMs;
+    private final ScheduledExecutorService scheduler;
+
+    // User id to the instant before which their tokens are revoked
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    private volatile long version;
+    private volatile long maxTokenAgeMillis = TimeUnit.MINUTES.toMillis(15);
+
+    public TokenRevocationFeed(IdentityHeaderSigner signer,
+                               @Value("${app.jwt.revocations-uri}") String revocationsUri,
+                               @Value("${app.jwt.revocations-poll-interval-ms:5000}") long pollIntervalMs) {
+        this.signer = signer;
+        this.revocationsUri = revocationsUri;
+        this.pollIntervalMs = pollIntervalMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocations");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!signer.isEnabled()) {
+            log.warn("Gateway identity secret is not set; token revocations cannot be polled");
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::pollQuietly, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @param issuedAtMillis when the token was issued, or null if it does not say
+     */
+    public boolean isRevoked(Long userId, Long issuedAtMillis) {
+        Long cutoff = revokedBefore.get(userId);
+        return cutoff != null && (issuedAtMillis == null || issuedAtMillis < cutoff);
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("Failed to poll token revocations from {}: {}", revocationsUri, e.getMessage());
+        }
+    }
+
+    private void poll() throws Exception {
+        long expires = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + SIGNATURE_TTL_SECONDS;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(revocationsUri + "?since=" + version))
+                .timeout(Duration.ofSeconds(5))
+                .header(IdentityHeaderSigner.USER_ID, "0")
+                .header(IdentityHeaderSigner.USER_EMAIL, SERVICE_NAME)
+                .header(IdentityHeaderSigner.USER_NAME, SERVICE_NAME)
+                .header(IdentityHeaderSigner.USER_ROLE, SERVICE_ROLE)
+                .header(IdentityHeaderSigner.USER_EXPIRES, Long.toString(expires))
+                .header(IdentityHeaderSigner.USER_SIGNATURE, signer.sign("0", SERVICE_NAME, SERVICE_NAME, SERVICE_ROLE, expires))
+                .GET()
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Revocations endpoint returned " + response.statusCode());
+        }
+        apply(response.body());
+    }
+
+    /**
+     * Merges one page of the feed and drops revocations every affected token has outlived
+     */
+    void apply(String body) throws Exception {
+        JsonNode feed = objectMapper.readTree(body);
+        if (feed.hasNonNull("maxTokenAgeSeconds")) {
+            maxTokenAgeMillis = TimeUnit.SECONDS.toMillis(feed.get("maxTokenAgeSeconds").asLong());
+        }
+        for (JsonNode revocation : feed.path("revocations")) {
+            revokedBefore.merge(revocation.path("userId").asLong(), revocation.path("revokedBefore").asLong(), Math::max);
+        }
+        version = Math.max(version, feed.path("version").asLong());
+
+        long oldestLiveToken = System.currentTimeMillis() - maxTokenAgeMillis;
+        revokedBefore.values().removeIf(cutoff -> cutoff < oldestLiveToken);
+        if (feed.path("revocations").size() > 0) {
+            log.debug("Applied {} token revocations, now at version {}", feed.path("revocations").size(), version);
+        }
+    }
+}
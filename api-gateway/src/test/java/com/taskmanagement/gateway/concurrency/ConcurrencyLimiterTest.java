@@ -0,0 +1,67 @@
+package com.taskmanagement.gateway.concurrency;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void queuedRequestsAreAdmittedHighestPriorityFirst() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 10, 1.5, 10);
+        ConcurrencyLimiter.Permit first = limiter.acquire(Priority.HIGH, Duration.ZERO).block();
+        ConcurrencyLimiter.Permit second = limiter.acquire(Priority.HIGH, Duration.ZERO).block();
+
+        AtomicReference<ConcurrencyLimiter.Permit> low = new AtomicReference<>();
+        AtomicReference<ConcurrencyLimiter.Permit> high = new AtomicReference<>();
+        limiter.acquire(Priority.LOW, Duration.ofSeconds(5)).subscribe(low::set);
+        limiter.acquire(Priority.HIGH, Duration.ofSeconds(5)).subscribe(high::set);
+        assertThat(limiter.getQueued()).isEqualTo(2);
+
+        first.cancel();
+        assertThat(high.get()).isNotNull();
+        assertThat(low.get()).isNull();
+
+        second.cancel();
+        assertThat(low.get()).isNotNull();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void requestsAreShedWhenTheWaitRunsOutOrTheQueueIsFull() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 10, 1.5, 1);
+        limiter.acquire(Priority.NORMAL, Duration.ZERO).block();
+
+        Mono<ConcurrencyLimiter.Permit> waiting = limiter.acquire(Priority.NORMAL, Duration.ofMillis(20));
+        assertThat(limiter.acquire(Priority.NORMAL, Duration.ofMillis(20)).block()).isNull();
+        assertThat(waiting.block()).isNull();
+
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(limiter.getRejected(Priority.NORMAL)).isEqualTo(2);
+    }
+
+    @Test
+    void limitGrowsWhileLatencyIsSteadyAndShrinksWhenItRises() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 1.5);
+        long fast = TimeUnit.MILLISECONDS.toNanos(10);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(fast, limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(fast * 10, limit.getLimit(), false);
+        }
+        assertThat(limit.getLimit()).isLessThan(grown / 2);
+
+        int beforeFailure = limit.getLimit();
+        limit.onSample(fast, beforeFailure, true);
+        assertThat(limit.getLimit()).isLessThanOrEqualTo(beforeFailure);
+    }
+}
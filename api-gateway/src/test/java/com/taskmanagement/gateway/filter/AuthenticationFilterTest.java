@@ -0,0 +1,51 @@
+package com.taskmanagement.gateway.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.gateway.security.IdentityHeaderSigner;
+import com.taskmanagement.gateway.security.JwtUtil;
+import com.taskmanagement.gateway.security.TokenRevocationFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AuthenticationFilterTest {
+
+    private final IdentityHeaderSigner signer = new IdentityHeaderSigner("test-gateway-identity-secret-0123456789");
+    private final GatewayFilter filter = new AuthenticationFilter(mock(JwtUtil.class), signer,
+            new TokenRevocationFeed(signer, "http://localhost/api/auth/revocations", 5000),
+            new ObjectMapper(), 100, 60).apply(new AuthenticationFilter.Config());
+
+    @Test
+    void refreshNeedsNoBearerToken() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/refresh").build());
+
+        assertThat(passesThrough(exchange)).isTrue();
+    }
+
+    @Test
+    void otherPathsNeedABearerToken() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/projects/1").build());
+
+        assertThat(passesThrough(exchange)).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private boolean passesThrough(MockServerWebExchange exchange) {
+        AtomicBoolean forwarded = new AtomicBoolean();
+        GatewayFilterChain downstream = forwardedExchange -> {
+            forwarded.set(true);
+            return Mono.empty();
+        };
+        filter.filter(exchange, downstream).block();
+        return forwarded.get();
+    }
+}
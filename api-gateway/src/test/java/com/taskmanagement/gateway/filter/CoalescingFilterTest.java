@@ -0,0 +1,164 @@
+package com.taskmanagement.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CoalescingFilter factory = new CoalescingFilter(meterRegistry);
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+    private final Sinks.Empty<Void> release = Sinks.empty();
+
+    @Test
+    void identicalRequestsInFlightShareOneDownstreamCall() {
+        GatewayFilter filter = factory.apply(new CoalescingFilter.Config());
+        MockServerWebExchange first = exchange("/api/tasks/project/3", "7");
+        MockServerWebExchange second = exchange("/api/tasks/project/3", "7");
+        MockServerWebExchange otherUser = exchange("/api/tasks/project/3", "8");
+
+        Mono<Void> firstDone = filter.filter(first, downstream("[{\"id\":1}]")).cache();
+        firstDone.subscribe();
+        Mono<Void> secondDone = filter.filter(second, downstream("[{\"id\":1}]")).cache();
+        secondDone.subscribe();
+        Mono<Void> otherDone = filter.filter(otherUser, downstream("[{\"id\":1}]")).cache();
+        otherDone.subscribe();
+        release.tryEmitEmpty();
+        Mono.when(firstDone, secondDone, otherDone).block();
+
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":1}]");
+        assertThat(meterRegistry.get("gateway.coalescing.requests").tag("result", "shared").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void usersWithASharedRoleShareOneDownstreamCall() {
+        CoalescingFilter.Config config = new CoalescingFilter.Config();
+        config.setScope(CoalescingFilter.Scope.ROLE);
+        config.setRoles(List.of("ADMIN"));
+        GatewayFilter filter = factory.apply(config);
+        MockServerWebExchange admin = exchange("/api/projects/3", "1", "ADMIN");
+        MockServerWebExchange otherAdmin = exchange("/api/projects/3", "2", "ADMIN");
+        MockServerWebExchange member = exchange("/api/projects/3", "7", "MEMBER");
+        MockServerWebExchange otherMember = exchange("/api/projects/3", "8", "MEMBER");
+
+        List<Mono<Void>> done = Stream.of(admin, otherAdmin, member, otherMember)
+                .map(exchange -> {
+                    Mono<Void> filtered = filter.filter(exchange, downstream("{\"id\":3}")).cache();
+                    filtered.subscribe();
+                    return filtered;
+                })
+                .toList();
+        release.tryEmitEmpty();
+        Mono.when(done).block();
+
+        // Members may not see each other's projects, so only the admins share
+        assertThat(downstreamCalls.get()).isEqualTo(3);
+        assertThat(otherAdmin.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":3}");
+        assertThat(meterRegistry.get("gateway.coalescing.requests").tag("result", "shared").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void waitersFallBackWhenTheResponseIsTooLargeToShare() {
+        CoalescingFilter.Config config = new CoalescingFilter.Config();
+        config.setMaxBodyBytes(4);
+        GatewayFilter filter = factory.apply(config);
+        MockServerWebExchange first = exchange("/api/projects/3", "7");
+        MockServerWebExchange second = exchange("/api/projects/3", "7");
+
+        Mono<Void> firstDone = filter.filter(first, downstream("{\"id\":3}")).cache();
+        firstDone.subscribe();
+        Mono<Void> secondDone = filter.filter(second, downstream("{\"id\":3}")).cache();
+        secondDone.subscribe();
+        release.tryEmitEmpty();
+        Mono.when(firstDone, secondDone).block();
+
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":3}");
+        assertThat(meterRegistry.get("gateway.coalescing.requests").tag("result", "fallback").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void notModifiedAnswersAreNotSharedWithRequestsWithoutValidators() {
+        GatewayFilter filter = factory.apply(new CoalescingFilter.Config());
+        MockServerWebExchange revalidating = exchange(MockServerHttpRequest.get("/api/projects/3")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"").build(), "7");
+        MockServerWebExchange plain = exchange("/api/projects/3", "7");
+        MockServerWebExchange sameValidator = exchange(MockServerHttpRequest.get("/api/projects/3")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"").build(), "7");
+
+        Mono<Void> revalidatingDone = filter.filter(revalidating, downstream("{\"id\":3}")).cache();
+        revalidatingDone.subscribe();
+        Mono<Void> plainDone = filter.filter(plain, downstream("{\"id\":3}")).cache();
+        plainDone.subscribe();
+        Mono<Void> sameValidatorDone = filter.filter(sameValidator, downstream("{\"id\":3}")).cache();
+        sameValidatorDone.subscribe();
+        release.tryEmitEmpty();
+        Mono.when(revalidatingDone, plainDone, sameValidatorDone).block();
+
+        assertThat(downstreamCalls.get()).isEqualTo(3);
+        assertThat(revalidating.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(sameValidator.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(plain.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(plain.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":3}");
+        assertThat(meterRegistry.get("gateway.coalescing.requests").tag("result", "shared").counter().count()).isZero();
+    }
+
+    /**
+     * Answers once the test releases it, so later requests find the first one still in flight
+     */
+    private GatewayFilterChain downstream(String body) {
+        return exchange -> {
+            downstreamCalls.incrementAndGet();
+            return release.asMono().then(Mono.defer(() -> {
+                if (exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)) {
+                    exchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+                    return exchange.getResponse().writeWith(Mono.empty());
+                }
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                return exchange.getResponse().writeWith(Mono.just(
+                        DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+    }
+
+    private MockServerWebExchange exchange(String path, String userId) {
+        return exchange(MockServerHttpRequest.get(path).build(), userId);
+    }
+
+    private MockServerWebExchange exchange(String path, String userId, String role) {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get(path).build(), userId);
+        exchange.getAttributes().put(AuthenticationFilter.USER_ROLE_ATTR, role);
+        return exchange;
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest request, String userId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async().id("task-service").uri("lb://task-service").predicate(e -> true).build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        exchange.getAttributes().put(AuthenticationFilter.USER_ID_ATTR, userId);
+        return exchange;
+    }
+}
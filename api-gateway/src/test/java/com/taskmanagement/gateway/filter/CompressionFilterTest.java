@@ -0,0 +1,95 @@
+package com.taskmanagement.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressionFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CompressionFilter filter = new CompressionFilter(true, 1024, 6,
+            List.of("application/json", "text/*"), meterRegistry);
+
+    @Test
+    void chunkedJsonIsGzippedAsItStreams() throws IOException {
+        String chunk = "{\"id\":1,\"title\":\"Write the quarterly report\",\"status\":\"IN_PROGRESS\"},";
+        MockServerWebExchange exchange = exchange("gzip, deflate, br", Map.of());
+
+        filter.filter(exchange, json(chunk.repeat(50), chunk.repeat(50), chunk.repeat(50))).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(headers.getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        byte[] compressed = DataBufferUtils.join(exchange.getResponse().getBody()).map(buffer -> {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        }).block();
+        assertThat(gunzip(compressed)).isEqualTo(chunk.repeat(150));
+        assertThat(meterRegistry.get("gateway.compression.bytes.saved").tag("route", "task-service").counter().count())
+                .isEqualTo(chunk.length() * 150 - compressed.length);
+    }
+
+    @Test
+    void smallOptedOutAndUnacceptedResponsesAreLeftAlone() {
+        String body = "{\"id\":1}".repeat(200);
+
+        MockServerWebExchange small = exchange("gzip", Map.of());
+        filter.filter(small, e -> {
+            e.getResponse().getHeaders().setContentLength(10);
+            return json("{\"id\":1}").filter(e);
+        }).block();
+        assertThat(small.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+
+        MockServerWebExchange optedOut = exchange("gzip", Map.of(CompressionFilter.ROUTE_METADATA_KEY, "false"));
+        filter.filter(optedOut, json(body)).block();
+        assertThat(optedOut.getResponse().getBodyAsString().block()).isEqualTo(body);
+
+        MockServerWebExchange refused = exchange("gzip;q=0, *", Map.of());
+        filter.filter(refused, json(body)).block();
+        assertThat(refused.getResponse().getBodyAsString().block()).isEqualTo(body);
+    }
+
+    private MockServerWebExchange exchange(String acceptEncoding, Map<String, Object> metadata) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/tasks")
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding).build());
+        Route route = Route.async().id("task-service").uri("lb://task-service").predicate(e -> true)
+                .metadata(metadata).build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private static GatewayFilterChain json(String... chunks) {
+        return exchange -> {
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            Flux<DataBuffer> body = Flux.fromArray(chunks)
+                    .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+            return exchange.getResponse().writeWith(body);
+        };
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.taskmanagement.gateway.filter;
+
+import com.taskmanagement.gateway.loadbalancer.InstanceStatsRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.filter.headers.RemoveHopByHopHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HedgingFilterTest {
+
+    private static final String PRIMARY_BODY = "{\"from\":\"primary\"}";
+    private static final String HEDGE_BODY = "{\"from\":\"hedge\"}";
+
+    private final AtomicLong primaryDelayMs = new AtomicLong();
+    private final AtomicReference<CountDownLatch> primaryClosed = new AtomicReference<>(new CountDownLatch(1));
+    private final AtomicInteger hedgeCalls = new AtomicInteger();
+    private final InstanceStatsRegistry instanceStats = new InstanceStatsRegistry(new SimpleMeterRegistry(), 10, 100, 0.5, 10, 15);
+    private final Route route = Route.async().id("project-service").uri("lb://project-service").predicate(exchange -> true).build();
+    private final GatewayFilterChain routing = exchange -> Mono.empty();
+
+    private DisposableServer primary;
+    private DisposableServer hedge;
+    private ServiceInstance primaryInstance;
+    private ServiceInstance hedgeInstance;
+
+    @BeforeEach
+    void startInstances() {
+        primary = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .doOnConnection(connection -> connection.onDispose(() -> primaryClosed.get().countDown()))
+                .handle((request, response) -> Mono.delay(Duration.ofMillis(primaryDelayMs.get()))
+                        .then(send(response, PRIMARY_BODY)))
+                .bindNow();
+        hedge = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> {
+                    hedgeCalls.incrementAndGet();
+                    return send(response, HEDGE_BODY);
+                })
+                .bindNow();
+        primaryInstance = new DefaultServiceInstance("project-1", "project-service", "localhost", primary.port(), false);
+        hedgeInstance = new DefaultServiceInstance("project-2", "project-service", "localhost", hedge.port(), false);
+    }
+
+    @AfterEach
+    void stopInstances() {
+        primary.disposeNow();
+        hedge.disposeNow();
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndCancelled() throws Exception {
+        GatewayFilter filter = filter(config(1.0));
+        prime(filter);
+        primaryDelayMs.set(2000);
+        primaryClosed.set(new CountDownLatch(1));
+
+        MockServerWebExchange exchange = exchange("/api/projects/1");
+        filter.filter(exchange, routing).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(HEDGE_BODY);
+        // The primary's connection is closed long before it would have answered
+        assertThat(primaryClosed.get().await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(instanceStats.stats(hedgeInstance).getInFlight()).isZero();
+        assertThat(instanceStats.stats(hedgeInstance).getLatencyNanos()).isPositive();
+    }
+
+    @Test
+    void hedgesAreLimitedByTheBudget() {
+        GatewayFilter filter = filter(config(0.1));
+        prime(filter);
+        primaryDelayMs.set(200);
+
+        MockServerWebExchange exchange = exchange("/api/projects/1");
+        filter.filter(exchange, routing).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(PRIMARY_BODY);
+        assertThat(hedgeCalls).hasValue(0);
+    }
+
+    @Test
+    void responsesOverTheCapAreStreamed() {
+        HedgingFilter.Config config = config(1.0);
+        config.setMaxBodyBytes(4);
+        GatewayFilter filter = filter(config);
+
+        MockServerWebExchange exchange = exchange("/api/projects/1");
+        new NettyWriteResponseFilter(List.of())
+                .filter(exchange, forwarded -> filter.filter(forwarded, routing))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getAttributes()).containsKey(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(PRIMARY_BODY);
+    }
+
+    @Test
+    void otherPathsAreLeftToTheRoutingFilter() {
+        AtomicBoolean routed = new AtomicBoolean();
+
+        filter(config(1.0)).filter(exchange("/api/projects"), exchange -> {
+            routed.set(true);
+            return Mono.empty();
+        }).block(Duration.ofSeconds(5));
+
+        assertThat(routed).isTrue();
+    }
+
+    /**
+     * Enough fast requests for a latency percentile, which the first hedge waits for
+     */
+    private void prime(GatewayFilter filter) {
+        for (int i = 0; i < 5; i++) {
+            filter.filter(exchange("/api/projects/1"), routing).block(Duration.ofSeconds(5));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private GatewayFilter filter(HedgingFilter.Config config) {
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = request -> Mono.just(new DefaultResponse(hedgeInstance));
+        LoadBalancerClientFactory loadBalancerClientFactory = mock(LoadBalancerClientFactory.class);
+        when(loadBalancerClientFactory.getInstance("project-service")).thenReturn(loadBalancer);
+        ObjectProvider<List<HttpHeadersFilter>> headersFilters = mock(ObjectProvider.class);
+        when(headersFilters.getIfAvailable()).thenReturn(List.of(new RemoveHopByHopHeadersFilter()));
+
+        return new HedgingFilter(HttpClient.create(), loadBalancerClientFactory, headersFilters, instanceStats,
+                new SimpleMeterRegistry()).apply(config);
+    }
+
+    private static HedgingFilter.Config config(double maxHedgeRatio) {
+        HedgingFilter.Config config = new HedgingFilter.Config();
+        config.setMaxHedgeRatio(maxHedgeRatio);
+        config.setMaxHedgeBurst(1);
+        config.setMinSamples(5);
+        config.setPath("/api/projects/{id:[0-9]+}");
+        return config;
+    }
+
+    private MockServerWebExchange exchange(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+                URI.create("http://localhost:" + primary.port() + path));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(primaryInstance));
+        return exchange;
+    }
+
+    private static Mono<Void> send(HttpServerResponse response, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return response.header("Content-Type", "application/json")
+                .header("Content-Length", String.valueOf(bytes.length))
+                .sendByteArray(Mono.just(bytes))
+                .then();
+    }
+}
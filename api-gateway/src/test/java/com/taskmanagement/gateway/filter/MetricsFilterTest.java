@@ -0,0 +1,68 @@
+package com.taskmanagement.gateway.filter;
+
+import com.taskmanagement.gateway.metrics.GatewayRequestMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MetricsFilter metricsFilter = new MetricsFilter(new GatewayRequestMetrics(meterRegistry));
+    private final UpstreamTimingFilter upstreamTimingFilter = new UpstreamTimingFilter();
+
+    @Test
+    void requestsAreTaggedByRouteMethodAndStatusClass() {
+        route(exchange("/api/tasks/1"), HttpStatus.OK);
+        route(exchange("/api/tasks/2"), HttpStatus.OK);
+        route(exchange("/api/tasks/3"), HttpStatus.NOT_FOUND);
+
+        assertThat(timer(GatewayRequestMetrics.REQUESTS, "2xx").count()).isEqualTo(2);
+        assertThat(timer(GatewayRequestMetrics.REQUESTS, "4xx").count()).isEqualTo(1);
+        assertThat(timer(GatewayRequestMetrics.UPSTREAM, "2xx").count()).isEqualTo(2);
+        assertThat(meterRegistry.get("gateway.requests.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void requestsAnsweredByTheGatewayHaveNoUpstreamTime() {
+        MockServerWebExchange exchange = exchange("/api/tasks/1");
+        metricsFilter.filter(exchange, e -> {
+            e.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        }).block();
+
+        assertThat(timer(GatewayRequestMetrics.INTERNAL, "2xx").count()).isEqualTo(1);
+        assertThat(timer(GatewayRequestMetrics.UPSTREAM, "2xx").count()).isZero();
+    }
+
+    private void route(MockServerWebExchange exchange, HttpStatus status) {
+        GatewayFilterChain downstream = e -> {
+            e.getResponse().setStatusCode(status);
+            return Mono.empty();
+        };
+        metricsFilter.filter(exchange, e -> upstreamTimingFilter.filter(e, downstream)).block();
+    }
+
+    private Timer timer(String name, String status) {
+        return meterRegistry.get(name).tag("route", "task-service").tag("method", "GET").tag("status", status).timer();
+    }
+
+    private MockServerWebExchange exchange(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+        Route route = Route.async().id("task-service").uri("lb://task-service").predicate(e -> true).build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("http://10.0.0.5:8083" + path));
+        return exchange;
+    }
+}
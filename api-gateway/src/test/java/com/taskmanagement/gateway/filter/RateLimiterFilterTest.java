@@ -0,0 +1,57 @@
+package com.taskmanagement.gateway.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.gateway.ratelimit.InMemoryRateLimitStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterFilterTest {
+
+    private final GatewayFilter filter;
+
+    RateLimiterFilterTest() {
+        RateLimiterFilter.Config config = new RateLimiterFilter.Config();
+        config.setRouteId("project-service");
+        config.setIpLimitForPeriod(1);
+        config.setLimitRefreshPeriodInSeconds(60);
+        filter = new RateLimiterFilter(new InMemoryRateLimitStore(1000, Duration.ofMinutes(5)), new ObjectMapper(),
+                List.of("172.16.0.0/12", "::1")).apply(config);
+    }
+
+    @Test
+    void realIpFromTheProxySeparatesClients() {
+        assertThat(status("172.18.0.5", "198.51.100.7")).isEqualTo(HttpStatus.OK);
+        assertThat(status("172.18.0.5", "198.51.100.8")).isEqualTo(HttpStatus.OK);
+        assertThat(status("172.18.0.5", "198.51.100.7")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void realIpFromDirectClientsIsIgnored() {
+        assertThat(status("203.0.113.9", "198.51.100.7")).isEqualTo(HttpStatus.OK);
+        assertThat(status("203.0.113.9", "198.51.100.8")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private HttpStatus status(String remoteAddress, String realIp) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/projects")
+                .remoteAddress(new InetSocketAddress(remoteAddress, 43210))
+                .header("X-Real-IP", realIp)
+                .build());
+        GatewayFilterChain downstream = forwarded -> {
+            forwarded.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+        filter.filter(exchange, downstream).block();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+}
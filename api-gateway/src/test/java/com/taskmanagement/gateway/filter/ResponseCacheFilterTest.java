@@ -0,0 +1,115 @@
+package com.taskmanagement.gateway.filter;
+
+import com.taskmanagement.gateway.cache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCache cache = new ResponseCache(meterRegistry, 1024 * 1024, 300);
+    private final GatewayFilter filter = new ResponseCacheFilter(cache).apply(new ResponseCacheFilter.Config());
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+    private String cacheControl = "private, max-age=30, must-revalidate";
+
+    @Test
+    void repeatedGetIsServedFromCache() {
+        MockServerWebExchange first = get("/api/projects/1", "7", null);
+        filter.filter(first, downstream()).block();
+        MockServerWebExchange second = get("/api/projects/1", "7", null);
+        filter.filter(second, downstream()).block();
+
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":1}");
+        assertThat(meterRegistry.get("gateway.response.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void entriesAreScopedPerUser() {
+        filter.filter(get("/api/projects/1", "7", null), downstream()).block();
+        filter.filter(get("/api/projects/1", "8", null), downstream()).block();
+
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void matchingEtagGetsNotModified() {
+        filter.filter(get("/api/projects/1", "7", null), downstream()).block();
+        MockServerWebExchange revalidation = get("/api/projects/1", "7", "\"v1\"");
+        filter.filter(revalidation, downstream()).block();
+
+        assertThat(revalidation.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void revalidationsDoNotCountAsHits() {
+        cacheControl = "private, max-age=0, must-revalidate";
+
+        filter.filter(get("/api/projects/1", "7", null), downstream()).block();
+        MockServerWebExchange second = get("/api/projects/1", "7", null);
+        filter.filter(second, downstream()).block();
+
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("REVALIDATED");
+        assertThat(meterRegistry.get("gateway.response.cache.hit.ratio").gauge().value()).isZero();
+    }
+
+    @Test
+    void mutationInvalidatesTheRoute() {
+        filter.filter(get("/api/projects/1", "7", null), downstream()).block();
+        MockServerWebExchange update = MockServerWebExchange.from(MockServerHttpRequest.put("/api/projects/1").build());
+        filter.filter(update, downstream()).block();
+        filter.filter(get("/api/projects/1", "7", null), downstream()).block();
+
+        assertThat(downstreamCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void noStoreResponsesAreNotCached() {
+        cacheControl = "no-cache, no-store, max-age=0, must-revalidate";
+
+        filter.filter(get("/api/projects/1", "7", null), downstream()).block();
+        filter.filter(get("/api/projects/1", "7", null), downstream()).block();
+
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+    }
+
+    private MockServerWebExchange get(String path, String userId, String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request.build());
+        exchange.getAttributes().put(AuthenticationFilter.USER_ID_ATTR, userId);
+        return exchange;
+    }
+
+    private GatewayFilterChain downstream() {
+        return (ServerWebExchange exchange) -> {
+            downstreamCalls.incrementAndGet();
+            if ("\"v1\"".equals(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                exchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+                return exchange.getResponse().writeWith(Mono.empty());
+            }
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setETag("\"v1\"");
+            exchange.getResponse().getHeaders().setCacheControl(cacheControl);
+            byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+        };
+    }
+}
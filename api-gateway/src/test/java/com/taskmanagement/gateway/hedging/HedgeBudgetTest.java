@@ -0,0 +1,35 @@
+package com.taskmanagement.gateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgeBudgetTest {
+
+    @Test
+    void hedgesAreEarnedByRequests() {
+        HedgeBudget budget = new HedgeBudget(0.25, 2);
+
+        for (int i = 0; i < 3; i++) {
+            budget.onRequest();
+            assertThat(budget.tryAcquire()).isFalse();
+        }
+        budget.onRequest();
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void unspentHedgesAreCappedAtTheBurst() {
+        HedgeBudget budget = new HedgeBudget(0.25, 2);
+
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,47 @@
+package com.taskmanagement.gateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyTrackerTest {
+
+    private final LatencyTracker tracker = new LatencyTracker(TimeUnit.MINUTES.toNanos(1), 10);
+
+    @Test
+    void noPercentileUntilEnoughSamples() {
+        for (int i = 0; i < 9; i++) {
+            tracker.record(TimeUnit.MILLISECONDS.toNanos(20));
+        }
+
+        assertThat(tracker.percentile(0.95)).isEqualTo(-1);
+    }
+
+    @Test
+    void percentilesAreWithinOneBucket() {
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertThat(tracker.percentile(0.5) / 1e6).isCloseTo(50, within(50 * 0.2));
+        assertThat(tracker.percentile(0.95) / 1e6).isCloseTo(95, within(95 * 0.2));
+        assertThat(tracker.percentile(0.95)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(95));
+    }
+
+    @Test
+    void budgetAllowsOnlyTheConfiguredShareOfHedges() {
+        HedgeBudget budget = new HedgeBudget(0.1, 5);
+        int hedges = 0;
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+            if (budget.tryAcquire()) {
+                hedges++;
+            }
+        }
+
+        assertThat(hedges).isEqualTo(10);
+    }
+}
@@ -0,0 +1,110 @@
+package com.taskmanagement.gateway.loadbalancer;
+
+import com.taskmanagement.gateway.filter.InstanceStatsFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeakEwmaLoadBalancerTest {
+
+    private final ServiceInstance fast = stub("task-1", 9001);
+    private final ServiceInstance slow = stub("task-2", 9002);
+    private final ServiceInstance failing = stub("task-3", 9003);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InstanceStatsRegistry stats = new InstanceStatsRegistry(meterRegistry, 10, 100, 0.5, 10, 15);
+    private final PeakEwmaLoadBalancer loadBalancer = loadBalancer(List.of(fast, slow));
+
+    @Test
+    void slowInstanceGetsLessTraffic() {
+        Map<ServiceInstance, Integer> picks = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            ServiceInstance chosen = loadBalancer.choose().block().getServer();
+            picks.merge(chosen, 1, Integer::sum);
+            stats.stats(chosen).requestStarted();
+            stats.requestFinished(chosen, TimeUnit.MILLISECONDS.toNanos(chosen == slow ? 500 : 20), false);
+        }
+
+        assertThat(picks.get(fast)).isGreaterThan(950);
+    }
+
+    @Test
+    void requestsInFlightCountAgainstAnInstance() {
+        stats.requestFinished(fast, TimeUnit.MILLISECONDS.toNanos(20), false);
+        stats.requestFinished(slow, TimeUnit.MILLISECONDS.toNanos(40), false);
+        for (int i = 0; i < 5; i++) {
+            stats.stats(fast).requestStarted();
+        }
+
+        assertThat(loadBalancer.choose().block().getServer()).isEqualTo(slow);
+        assertThat(meterRegistry.get("gateway.lb.instance.inflight").tag("instance", "localhost:9001").gauge().value()).isEqualTo(5);
+    }
+
+    @Test
+    void instanceWithManyErrorsIsEjected() {
+        PeakEwmaLoadBalancer withFailing = loadBalancer(List.of(fast, failing));
+        for (int i = 0; i < 10; i++) {
+            stats.requestFinished(failing, TimeUnit.MILLISECONDS.toNanos(1), true);
+        }
+        stats.requestFinished(fast, TimeUnit.MILLISECONDS.toNanos(200), false);
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(withFailing.choose().block().getServer()).isEqualTo(fast);
+        }
+        assertThat(meterRegistry.get("gateway.lb.instance.ejected").tag("instance", "localhost:9003").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledRequestsLeaveTheInstanceAndCountAsFailures() {
+        InstanceStatsFilter filter = new InstanceStatsFilter(stats);
+        for (int i = 0; i < 10; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/tasks/1"));
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(slow));
+
+            // A downstream call that never answers, cut off like a circuit breaker timeout would
+            Disposable request = filter.filter(exchange, e -> Mono.never()).subscribe();
+            assertThat(stats.stats(slow).getInFlight()).isEqualTo(1);
+            request.dispose();
+        }
+
+        assertThat(stats.stats(slow).getInFlight()).isZero();
+        assertThat(stats.stats(slow).isEjected(System.nanoTime())).isTrue();
+    }
+
+    private PeakEwmaLoadBalancer loadBalancer(List<ServiceInstance> instances) {
+        ServiceInstanceListSupplier supplier = new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return "task-service";
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(instances);
+            }
+        };
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("supplier", supplier));
+        return new PeakEwmaLoadBalancer(beanFactory.getBeanProvider(ServiceInstanceListSupplier.class), stats);
+    }
+
+    private static ServiceInstance stub(String instanceId, int port) {
+        return new DefaultServiceInstance(instanceId, "task-service", "localhost", port, false);
+    }
+}
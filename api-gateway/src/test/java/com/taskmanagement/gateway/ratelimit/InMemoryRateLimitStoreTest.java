@@ -0,0 +1,87 @@
+package com.taskmanagement.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    private static final long ONE_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(1000, Duration.ofMinutes(5));
+    private final RateLimitStore.Buckets buckets = store.buckets("route:user");
+
+    @Test
+    void fullBucketAllowsBurstThenRejects() {
+        assertThat(buckets.tryAcquire("key", 3, ONE_PER_MINUTE)).isEqualTo(2);
+        assertThat(buckets.tryAcquire("key", 3, ONE_PER_MINUTE)).isEqualTo(1);
+        assertThat(buckets.tryAcquire("key", 3, ONE_PER_MINUTE)).isEqualTo(0);
+
+        long rejected = buckets.tryAcquire("key", 3, ONE_PER_MINUTE);
+        assertThat(rejected).isNegative();
+        assertThat(-rejected).isLessThanOrEqualTo(ONE_PER_MINUTE);
+    }
+
+    @Test
+    void bucketsAreIndependentPerKey() {
+        buckets.tryAcquire("a", 1, ONE_PER_MINUTE);
+
+        assertThat(buckets.tryAcquire("a", 1, ONE_PER_MINUTE)).isNegative();
+        assertThat(buckets.tryAcquire("b", 1, ONE_PER_MINUTE)).isZero();
+    }
+
+    @Test
+    void groupsKeepSeparateBucketsForTheSameKey() {
+        buckets.tryAcquire("a", 1, ONE_PER_MINUTE);
+
+        assertThat(store.buckets("route:user").tryAcquire("a", 1, ONE_PER_MINUTE)).isNegative();
+        assertThat(store.buckets("route:ip").tryAcquire("a", 1, ONE_PER_MINUTE)).isZero();
+    }
+
+    @Test
+    void tokensRefillOverTime() throws InterruptedException {
+        long tenMillis = TimeUnit.MILLISECONDS.toNanos(10);
+        buckets.tryAcquire("key", 1, tenMillis);
+        assertThat(buckets.tryAcquire("key", 1, tenMillis)).isNegative();
+
+        Thread.sleep(20);
+
+        assertThat(buckets.tryAcquire("key", 1, tenMillis)).isZero();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedCapacity() {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        AtomicInteger allowed = new AtomicInteger();
+        try {
+            CompletableFuture.allOf(IntStream.range(0, 1000)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                        if (buckets.tryAcquire("shared", 100, ONE_PER_MINUTE) >= 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }, callers))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(allowed.get()).isEqualTo(100);
+    }
+
+    @Test
+    void partitionedStoreEnforcesThisNodesShare() {
+        RateLimitStore.Buckets partitioned = new PartitionedRateLimitStore(store, 2).buckets("route:user");
+
+        assertThat(partitioned.tryAcquire("key", 4, ONE_PER_MINUTE)).isEqualTo(1);
+        assertThat(partitioned.tryAcquire("key", 4, ONE_PER_MINUTE)).isZero();
+        assertThat(partitioned.tryAcquire("key", 4, ONE_PER_MINUTE)).isNegative();
+    }
+}
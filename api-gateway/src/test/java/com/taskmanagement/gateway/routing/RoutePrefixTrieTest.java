@@ -0,0 +1,44 @@
+package com.taskmanagement.gateway.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutePrefixTrieTest {
+
+    private final RoutePrefixTrie trie = new RoutePrefixTrie();
+
+    @Test
+    void onlyRoutesOnThePathPrefixAreCandidates() {
+        trie.add(0, List.of("/api/auth/health"));
+        trie.add(1, List.of("/api/auth/**"));
+        trie.add(2, List.of("/api/projects/**"));
+        trie.add(3, List.of("/api/tasks/**"));
+
+        assertThat(trie.candidates("/api/auth/health").stream()).containsExactly(0, 1);
+        assertThat(trie.candidates("/api/auth/login").stream()).containsExactly(1);
+        assertThat(trie.candidates("/api/projects/12/members").stream()).containsExactly(2);
+        assertThat(trie.candidates("/api/unknown").isEmpty()).isTrue();
+    }
+
+    @Test
+    void patternsAreIndexedUpToTheirFirstVariable() {
+        trie.add(0, List.of("/api/{service}/health"));
+        trie.add(1, List.of("/api/tasks/*/comments", "/api/comments/**"));
+
+        assertThat(trie.candidates("/api/tasks/health").stream()).containsExactly(0, 1);
+        assertThat(trie.candidates("/api/comments/3").stream()).containsExactly(0, 1);
+        assertThat(trie.candidates("/health").isEmpty()).isTrue();
+    }
+
+    @Test
+    void routesWithoutPathPatternsMatchEveryPath() {
+        trie.add(0, List.of("/api/tasks/**"));
+        trie.add(1, List.of());
+
+        assertThat(trie.candidates("/anything").stream()).containsExactly(1);
+        assertThat(trie.candidates("/api/tasks/1").stream()).containsExactly(0, 1);
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskmanagement.gateway.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationFeedTest {
+
+    private final TokenRevocationFeed feed = new TokenRevocationFeed(
+            new IdentityHeaderSigner("test-gateway-identity-secret-0123456789"), "http://localhost/api/auth/revocations", 5000);
+
+    @Test
+    void tokensIssuedBeforeTheRevocationAreRevoked() throws Exception {
+        long now = System.currentTimeMillis();
+        feed.apply(page(now, 7, now - 1000));
+
+        assertThat(feed.isRevoked(7L, now - 2000)).isTrue();
+        assertThat(feed.isRevoked(7L, now - 1000)).isFalse();
+        assertThat(feed.isRevoked(8L, now - 2000)).isFalse();
+        assertThat(feed.isRevoked(7L, null)).isTrue();
+    }
+
+    @Test
+    void laterPagesOnlyMoveTheCutoffForwardAndOutlivedRevocationsAreDropped() throws Exception {
+        long now = System.currentTimeMillis();
+        feed.apply(page(now, 7, now - 1000));
+        feed.apply(page(now + 1, 7, now - 5000));
+        assertThat(feed.isRevoked(7L, now - 2000)).isTrue();
+
+        // Every token issued before a cutoff older than the token lifetime has expired
+        feed.apply(page(now + 2, 9, now - 901_000));
+        assertThat(feed.isRevoked(9L, now - 902_000)).isFalse();
+    }
+
+    private static String page(long version, long userId, long revokedBefore) {
+        return "{\"version\":" + version + ",\"maxTokenAgeSeconds\":900,\"revocations\":[{\"userId\":" + userId
+                + ",\"revokedBefore\":" + revokedBefore + ",\"version\":" + version + "}]}";
+    }
+}
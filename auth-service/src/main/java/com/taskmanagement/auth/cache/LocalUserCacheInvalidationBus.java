@@ -0,0 +1,32 @@
+package com.taskmanagement.auth.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process invalidation bus for single-replica deployments
+ */
+@Slf4j
+public class LocalUserCacheInvalidationBus implements UserCacheInvalidationBus {
+    
+    private final List<Consumer<UserCacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public void publish(UserCacheInvalidation invalidation) {
+        for (Consumer<UserCacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (Exception e) {
+                log.error("User cache invalidation listener failed: {}", e.getMessage());
+            }
+        }
+    }
+    
+    @Override
+    public void subscribe(Consumer<UserCacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
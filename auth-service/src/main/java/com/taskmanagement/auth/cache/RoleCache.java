@@ -0,0 +1,30 @@
+package com.taskmanagement.auth.cache;
+
+import com.taskmanagement.auth.exception.ResourceNotFoundException;
+import com.taskmanagement.auth.model.entity.Role;
+import com.taskmanagement.auth.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Roles are reference data seeded at startup and never changed at runtime,
+ * so each one is read from the database once and kept for the life of the process.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleCache {
+    
+    private final RoleRepository roleRepository;
+    private final Map<Role.RoleName, Role> roles = new ConcurrentHashMap<>();
+    
+    public Role getRole(Role.RoleName name) {
+        Role role = roles.computeIfAbsent(name, key -> roleRepository.findByName(key).orElse(null));
+        if (role == null) {
+            throw new ResourceNotFoundException("Error: Role " + name + " is not found.");
+        }
+        return role;
+    }
+}
@@ -0,0 +1,152 @@
+package com.taskmanagement.auth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanagement.auth.model.dto.UserDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process cache of UserDto by id and by email.
+ * Concurrent misses for the same key share a single database load. Entries are
+ * invalidated whenever a user is mutated, locally and on other replicas through
+ * the {@link UserCacheInvalidationBus}.
+ */
+@Component
+@Slf4j
+public class UserCache {
+    
+    private final Cache<Long, UserDto> usersById;
+    private final Cache<String, UserDto> usersByEmail;
+    private final UserCacheInvalidationBus invalidationBus;
+    private final Counter invalidations;
+    
+    public UserCache(UserCacheInvalidationBus invalidationBus,
+                     MeterRegistry meterRegistry,
+                     @Value("${app.cache.users.max-size:10000}") long maxSize,
+                     @Value("${app.cache.users.ttl-seconds:300}") long ttlSeconds) {
+        this.invalidationBus = invalidationBus;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, "users.byEmail");
+        this.invalidations = Counter.builder("auth.users.cache.invalidations")
+                .description("Number of user cache invalidations applied")
+                .register(meterRegistry);
+        
+        invalidationBus.subscribe(this::evictLocal);
+    }
+    
+    /**
+     * Get a user by id, loading it once for all concurrent callers on a miss
+     */
+    public UserDto getById(Long id, Function<Long, UserDto> loader) {
+        return usersById.get(id, loader);
+    }
+    
+    /**
+     * Get a user by email, loading it once for all concurrent callers on a miss.
+     * Entries are keyed by the normalized email, so an invalidation reaches every spelling of it.
+     */
+    public UserDto getByEmail(String email, Function<String, UserDto> loader) {
+        return usersByEmail.get(emailKey(email), key -> loader.apply(email));
+    }
+    
+    /**
+     * Drop a user from the cache. When called inside a transaction the entries are dropped
+     * again and the invalidation is published after commit, so a concurrent read cannot
+     * re-cache the pre-commit state.
+     */
+    public void invalidate(Long userId, String... emails) {
+        publish(new UserCacheInvalidation(userId, distinctEmails(emails)));
+    }
+    
+    /**
+     * Drop a user from the cache and revoke every token issued to them until now.
+     * Used when a change must take effect on stateless authentication immediately,
+     * such as a role change, password reset, lock or deletion.
+     */
+    public void invalidateAndRevokeTokens(Long userId, String... emails) {
+        publish(new UserCacheInvalidation(userId, distinctEmails(emails), System.currentTimeMillis()));
+    }
+    
+    /**
+     * Record a login on the cached copies of a user instead of dropping them, since nothing
+     * else about the user changed. Only this replica's copies are updated; the others show
+     * the previous login until their entries expire.
+     */
+    public void updateLastLogin(Long userId, String email, LocalDateTime lastLoginAt) {
+        usersById.asMap().computeIfPresent(userId, (id, user) -> withLastLogin(user, lastLoginAt));
+        if (email != null) {
+            usersByEmail.asMap().computeIfPresent(emailKey(email), (key, user) -> withLastLogin(user, lastLoginAt));
+        }
+    }
+    
+    private static UserDto withLastLogin(UserDto user, LocalDateTime lastLoginAt) {
+        // Like the database column, never move backwards
+        if (user.getLastLoginAt() != null && !lastLoginAt.isAfter(user.getLastLoginAt())) {
+            return user;
+        }
+        return user.toBuilder().lastLoginAt(lastLoginAt).build();
+    }
+    
+    private List<String> distinctEmails(String... emails) {
+        return Arrays.stream(emails).filter(Objects::nonNull).map(UserCache::emailKey).distinct().collect(Collectors.toList());
+    }
+
+    // Emails are matched case-insensitively by the database, so the cache has to as well
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private void publish(UserCacheInvalidation invalidation) {
+        evictLocal(invalidation);
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidationBus.publish(invalidation);
+                }
+            });
+        } else {
+            invalidationBus.publish(invalidation);
+        }
+    }
+    
+    private void evictLocal(UserCacheInvalidation invalidation) {
+        if (invalidation.getUserId() != null) {
+            usersById.invalidate(invalidation.getUserId());
+        }
+        List<String> emails = invalidation.getEmails();
+        if (emails != null) {
+            usersByEmail.invalidateAll(emails);
+        }
+        invalidations.increment();
+        log.debug("Invalidated cached user {}", invalidation.getUserId());
+    }
+}
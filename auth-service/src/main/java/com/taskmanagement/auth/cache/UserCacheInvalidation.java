@@ -0,0 +1,25 @@
+package com.taskmanagement.auth.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Message telling every replica to drop its cached copy of a user.
+ * When tokensRevokedAt is set, tokens issued to the user before that instant are rejected too.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCacheInvalidation {
+    
+    private Long userId;
+    private List<String> emails;
+    private Long tokensRevokedAt;
+    
+    public UserCacheInvalidation(Long userId, List<String> emails) {
+        this(userId, emails, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskmanagement.auth.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Pub/sub channel used to propagate user cache invalidations between auth-service replicas.
+ * The default implementation is in-process only; a shared broker (Redis, Kafka, ...) can be
+ * plugged in by declaring another bean of this type.
+ */
+public interface UserCacheInvalidationBus {
+    
+    /**
+     * Publish an invalidation to all subscribers, including the ones in this replica
+     */
+    void publish(UserCacheInvalidation invalidation);
+    
+    void subscribe(Consumer<UserCacheInvalidation> listener);
+}
@@ -0,0 +1,20 @@
+package com.taskmanagement.auth.config;
+
+import com.taskmanagement.auth.cache.LocalUserCacheInvalidationBus;
+import com.taskmanagement.auth.cache.UserCacheInvalidationBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * In-process invalidation bus, used unless a cross-replica implementation is provided
+     */
+    @Bean
+    @ConditionalOnMissingBean(UserCacheInvalidationBus.class)
+    public UserCacheInvalidationBus userCacheInvalidationBus() {
+        return new LocalUserCacheInvalidationBus();
+    }
+}
@@ -0,0 +1,62 @@
+package com.taskmanagement.auth.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Logs the slowest bean initializations once the service is ready, from the steps
+ * recorded by the {@link BufferingApplicationStartup} installed in main. Durations
+ * include the beans each one depends on. The full timeline is served by
+ * /actuator/startup where that endpoint is exposed.
+ */
+@Component
+@Slf4j
+public class StartupTimingReporter {
+
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+
+    @Value("${app.startup.report.top-beans:10}")
+    private int topBeans;
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        ApplicationStartup applicationStartup = event.getApplicationContext().getApplicationStartup();
+        if (!(applicationStartup instanceof BufferingApplicationStartup)) {
+            return;
+        }
+
+        List<StartupTimeline.TimelineEvent> slowest = ((BufferingApplicationStartup) applicationStartup)
+                .getBufferedTimeline()
+                .getEvents()
+                .stream()
+                .filter(timelineEvent -> BEAN_INSTANTIATE_STEP.equals(timelineEvent.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(topBeans)
+                .collect(Collectors.toList());
+
+        log.info("Ready in {} ms; slowest bean initializations: {}", event.getTimeTaken().toMillis(),
+                slowest.stream()
+                        .map(timelineEvent -> beanName(timelineEvent.getStartupStep()) + "=" + timelineEvent.getDuration().toMillis() + "ms")
+                        .collect(Collectors.joining(", ")));
+    }
+
+    private String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+}
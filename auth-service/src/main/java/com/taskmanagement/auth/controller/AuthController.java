@@ -2,14 +2,22 @@ package com.taskmanagement.auth.controller;
 
 import com.taskmanagement.auth.model.dto.AuthResponse;
 import com.taskmanagement.auth.model.dto.LoginRequest;
+import com.taskmanagement.auth.model.dto.RefreshTokenRequest;
 import com.taskmanagement.auth.model.dto.RegisterRequest;
+import com.taskmanagement.auth.security.ClientIpResolver;
+import com.taskmanagement.auth.security.JwtUtil;
+import com.taskmanagement.auth.security.TokenRevocationStore;
 import com.taskmanagement.auth.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -17,11 +25,15 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final ClientIpResolver clientIpResolver;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final JwtUtil jwtUtil;
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<AuthResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                         HttpServletRequest request) {
         log.info("Login request received for email: {}", loginRequest.getEmail());
-        AuthResponse response = authService.authenticateUser(loginRequest);
+        AuthResponse response = authService.authenticateUser(loginRequest, clientIpResolver.resolve(request));
         log.info("Login successful for user: {}", response.getEmail());
         return ResponseEntity.ok(response);
     }
@@ -33,4 +45,32 @@ public class AuthController {
         log.info("Registration successful for user: {}", response.getEmail());
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        AuthResponse response = authService.refreshToken(refreshTokenRequest);
+        log.debug("Token refreshed for user: {}", response.getEmail());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        authService.logout(refreshTokenRequest);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Access token revocations changed after the given version, for services that verify
+     * tokens locally. Poll with the returned version; entries may be dropped once
+     * maxTokenAgeSeconds has passed since they were issued. Restricted to the gateway's signed
+     * service calls and admins.
+     */
+    @GetMapping("/revocations")
+    public ResponseEntity<Map<String, Object>> getRevocations(@RequestParam(defaultValue = "0") long since) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("version", tokenRevocationStore.currentVersion());
+        response.put("revocations", tokenRevocationStore.changesSince(since));
+        response.put("maxTokenAgeSeconds", jwtUtil.getExpirationSeconds());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,14 +1,18 @@
 package com.taskmanagement.auth.controller;
 
+import com.taskmanagement.auth.model.dto.CreateUserRequest;
 import com.taskmanagement.auth.model.dto.UserDto;
+import com.taskmanagement.auth.service.UserProvisioningService;
 import com.taskmanagement.auth.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -18,7 +22,10 @@ import java.util.Map;
 @Slf4j
 public class UserController {
 
+    private static final CacheControl ENTITY_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate().mustRevalidate();
+
     private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -27,11 +34,38 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    @GetMapping("/query")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> queryUsers(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String role,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction) {
+        log.info("Request to query users: search={}, role={}, page={}, size={}", search, role, page, size);
+        return ResponseEntity.ok(userService.queryUsers(search, role, page, size, sortBy, direction));
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getUserStats() {
+        log.info("Request to get user stats");
+        return ResponseEntity.ok(userService.getUserStats());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#id)")
     public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
         log.info("Request to get user by id: {}", id);
-        return ResponseEntity.ok(userService.getUserById(id));
+        return ResponseEntity.ok().cacheControl(ENTITY_CACHE_CONTROL).body(userService.getUserById(id));
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN') or @userSecurity.isOnlyCurrentUser(#ids)")
+    public ResponseEntity<List<UserDto>> getUsersByIds(@RequestBody List<Long> ids) {
+        log.info("Request to get {} users by id", ids.size());
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
     }
 
     @GetMapping("/email/{email}")
@@ -57,6 +91,13 @@ public class UserController {
         return ResponseEntity.ok(userService.createUser(userDto, password));
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> createUsers(@RequestBody List<CreateUserRequest> requests) {
+        log.info("Request to create {} users in bulk", requests.size());
+        return ResponseEntity.ok(userProvisioningService.createUsers(requests));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#id)")
     public ResponseEntity<UserDto> updateUser(@PathVariable Long id, @Valid @RequestBody UserDto userDto) {
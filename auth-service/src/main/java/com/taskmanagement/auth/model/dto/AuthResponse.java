@@ -18,4 +18,6 @@ public class AuthResponse {
     private String email;
     private String role; // Simplified to just return the primary role for frontend
     private String token;
+    private String refreshToken;
+    private Long expiresIn; // Access token lifetime in seconds
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.taskmanagement.auth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one row of a bulk user creation request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserResult {
+    
+    private int index;
+    private String email;
+    private Status status;
+    private Long userId;
+    private String error;
+    
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+}
@@ -0,0 +1,20 @@
+package com.taskmanagement.auth.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Access tokens issued to userId before revokedBefore (epoch millis) must be rejected
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationDto {
+    
+    private Long userId;
+    private Long revokedBefore;
+    private Long version;
+}
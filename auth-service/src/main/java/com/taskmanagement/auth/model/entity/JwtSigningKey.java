@@ -0,0 +1,38 @@
+package com.taskmanagement.auth.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An ES256 key pair used to sign access tokens. Keys live in the database so every
+ * auth-service replica signs with and publishes the same set.
+ */
+@Entity
+@Table(name = "jwt_signing_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtSigningKey {
+
+    @Id
+    @Column(length = 36)
+    private String kid;
+
+    @Column(nullable = false, length = 10)
+    private String algorithm;
+
+    @Column(name = "private_key", nullable = false, length = 512)
+    private String privateKey; // "v1:" + Base64 of the AES-GCM IV and encrypted PKCS#8, or Base64 PKCS#8
+
+    @Column(name = "public_key", nullable = false, length = 512)
+    private String publicKey; // Base64 X.509
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -16,6 +16,10 @@ import java.util.Set;
 @Table(name = "users", 
        uniqueConstraints = {
            @UniqueConstraint(columnNames = "email")
+       },
+       indexes = {
+           @Index(name = "idx_users_name", columnList = "name"),
+           @Index(name = "idx_users_primary_role", columnList = "primary_role")
        })
 @Data
 @Builder
@@ -36,7 +40,19 @@ public class User {
     @Column(nullable = false)
     private String password;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    /**
+     * The role used for authorization, denormalized from user_roles so loading a
+     * user needs no join. Null only for rows not yet backfilled.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "primary_role", length = 20)
+    private Role.RoleName primaryRole;
+
+    /**
+     * All roles of the user, kept in sync with primaryRole by {@link #assignRole(Role)}.
+     * Loaded lazily and only read as a fallback for rows without a primary role.
+     */
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_roles", 
                joinColumns = @JoinColumn(name = "user_id"),
                inverseJoinColumns = @JoinColumn(name = "role_id"))
@@ -58,4 +74,30 @@ public class User {
 
     @Column(name = "last_login_at")
     private LocalDateTime lastLoginAt;
-}
\ No newline at end of file
+
+    /**
+     * Make the given role the user's only role
+     */
+    public void assignRole(Role role) {
+        if (roles == null) {
+            roles = new HashSet<>();
+        }
+        roles.clear();
+        roles.add(role);
+        primaryRole = role.getName();
+    }
+
+    /**
+     * The primary role, falling back to the role join for rows that predate the column
+     * @return the role, or null if the user has none
+     */
+    public Role.RoleName resolvePrimaryRole() {
+        if (primaryRole != null || roles == null) {
+            return primaryRole;
+        }
+        return roles.stream()
+                .map(Role::getName)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanagement.auth.repository;
+
+import com.taskmanagement.auth.model.entity.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+    
+    List<JwtSigningKey> findAllByOrderByCreatedAtDesc();
+}
@@ -0,0 +1,101 @@
+package com.taskmanagement.auth.repository;
+
+import com.taskmanagement.auth.model.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Plain JDBC access for narrow bulk updates to users. Going through JdbcTemplate
+ * updates only the affected column, skips loading the entity and leaves
+ * updated_at alone, and lets the driver send all rows as one batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserJdbcRepository {
+
+    // Never move last_login_at backwards if a newer login was written by another replica
+    private static final String UPDATE_LAST_LOGIN_SQL =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    // An email taken by a concurrent request since the caller checked leaves that row alone instead of failing the batch
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (name, email, password, primary_role, email_verified, account_locked, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE email = email";
+
+    // Links every new user to its primary role in one statement, without reading generated ids back per row
+    private static final String INSERT_PRIMARY_ROLE_LINKS_SQL =
+            "INSERT INTO user_roles (user_id, role_id) SELECT u.id, r.id FROM users u JOIN roles r ON r.name = u.primary_role "
+                    + "WHERE u.email IN (:emails)";
+
+    private static final String SELECT_IDS_BY_EMAIL_SQL = "SELECT id, email, password FROM users WHERE email IN (:emails)";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Set last_login_at for many users in one batch
+     */
+    public void batchUpdateLastLogin(Map<Long, LocalDateTime> lastLogins) {
+        jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, new ArrayList<>(lastLogins.entrySet()), BATCH_SIZE, (ps, entry) -> {
+            Timestamp loginAt = Timestamp.valueOf(entry.getValue());
+            ps.setTimestamp(1, loginAt);
+            ps.setLong(2, entry.getKey());
+            ps.setTimestamp(3, loginAt);
+        });
+    }
+
+    /**
+     * Insert new users and their user_roles rows with batched statements. Users whose email
+     * was taken by someone else in the meantime are skipped.
+     * @return the generated id of each inserted user by email
+     */
+    @Transactional
+    public Map<String, Long> insertUsers(List<User> users) {
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, users, BATCH_SIZE, (ps, user) -> {
+            ps.setString(1, user.getName());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getPassword());
+            ps.setString(4, user.getPrimaryRole().name());
+            ps.setBoolean(5, user.getEmailVerified());
+            ps.setBoolean(6, user.getAccountLocked());
+            ps.setTimestamp(7, Timestamp.valueOf(user.getCreatedAt()));
+            ps.setTimestamp(8, Timestamp.valueOf(user.getUpdatedAt()));
+        });
+
+        // Batched update counts are not reliable per row, so a row is ours if it holds the hash we wrote
+        Map<String, String> hashes = users.stream().collect(Collectors.toMap(User::getEmail, User::getPassword));
+        Map<String, Long> ids = new HashMap<>();
+        forEachChunk(new ArrayList<>(hashes.keySet()), params ->
+                namedParameterJdbcTemplate.query(SELECT_IDS_BY_EMAIL_SQL, params, (RowCallbackHandler) rs -> {
+                    String email = rs.getString("email");
+                    if (rs.getString("password").equals(hashes.get(email))) {
+                        ids.put(email, rs.getLong("id"));
+                    }
+                }));
+        forEachChunk(new ArrayList<>(ids.keySet()), params ->
+                namedParameterJdbcTemplate.update(INSERT_PRIMARY_ROLE_LINKS_SQL, params));
+
+        return ids;
+    }
+
+    private static void forEachChunk(List<String> emails, Consumer<Map<String, Object>> statement) {
+        for (int from = 0; from < emails.size(); from += BATCH_SIZE) {
+            statement.accept(Map.of("emails", emails.subList(from, Math.min(from + BATCH_SIZE, emails.size()))));
+        }
+    }
+}
@@ -2,14 +2,31 @@ package com.taskmanagement.auth.repository;
 
 import com.taskmanagement.auth.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     
     Optional<User> findByEmail(String email);
     
     Boolean existsByEmail(String email);
-}
\ No newline at end of file
+    
+    /**
+     * User counts per primary role as [RoleName, Long] rows, aggregated by the database
+     */
+    @Query("SELECT u.primaryRole, COUNT(u) FROM User u WHERE u.primaryRole IS NOT NULL GROUP BY u.primaryRole")
+    List<Object[]> countUsersByRole();
+    
+    /**
+     * Which of the given emails are already registered, checked with one IN query
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+}
@@ -0,0 +1,38 @@
+package com.taskmanagement.auth.repository;
+
+import com.taskmanagement.auth.model.entity.Role;
+import com.taskmanagement.auth.model.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Reusable query predicates for {@link User}, evaluated by the database
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * Name or email prefix match; both patterns are anchored at the start so the
+     * indexes on name and email can be used
+     */
+    public static Specification<User> nameOrEmailStartsWith(String prefix) {
+        String pattern = escapeLike(prefix) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(root.get("name"), pattern, '\\'),
+                cb.like(root.get("email"), pattern, '\\'));
+    }
+
+    /**
+     * Users whose primary role is the given role
+     */
+    public static Specification<User> hasRole(Role.RoleName roleName) {
+        return (root, query, cb) -> cb.equal(root.get("primaryRole"), roleName);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,74 @@
+package com.taskmanagement.auth.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the address of the client behind the proxies in front of this service (nginx, then the
+ * API gateway), each of which appends the address it received the request from to
+ * X-Forwarded-For. Walking the chain from the right, the first address that is not a trusted
+ * proxy is the client; anything left of it was sent by the client and may be forged.
+ */
+@Component
+public class ClientIpResolver {
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private final List<IpAddressMatcher> trustedProxies = new ArrayList<>();
+
+    public ClientIpResolver(@Value("${app.security.trusted-proxies:127.0.0.0/8,::1}") List<String> trustedProxies) {
+        for (String proxy : trustedProxies) {
+            if (StringUtils.hasText(proxy)) {
+                this.trustedProxies.add(new IpAddressMatcher(proxy.trim()));
+            }
+        }
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
+        if (!isTrustedProxy(client)) {
+            return client;
+        }
+
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (!StringUtils.hasText(forwardedFor)) {
+            return client;
+        }
+        String[] addresses = forwardedFor.split(",");
+        for (int i = addresses.length - 1; i >= 0; i--) {
+            String address = addresses[i].trim();
+            if (!StringUtils.hasText(address)) {
+                break;
+            }
+            client = address;
+            if (!isTrustedProxy(address)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        // Only literal addresses; matching a host name would resolve it
+        if (address == null || !(address.indexOf(':') >= 0 || IPV4.matcher(address).matches())) {
+            return false;
+        }
+        try {
+            for (IpAddressMatcher proxy : trustedProxies) {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return false;
+    }
+}
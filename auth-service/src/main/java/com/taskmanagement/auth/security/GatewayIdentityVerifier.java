@@ -0,0 +1,91 @@
+package com.taskmanagement.auth.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Checks the X-User-* headers signed by the api-gateway for the gateway's own calls, such as
+ * polling token revocations, which it makes with role SERVICE. Users always authenticate here
+ * with their JWT, so headers describing a user are ignored.
+ */
+@Component
+@Slf4j
+public class GatewayIdentityVerifier {
+
+    public static final String SERVICE_ROLE = "SERVICE";
+
+    private static final String USER_ID = "X-User-Id";
+    private static final String USER_EMAIL = "X-User-Email";
+    private static final String USER_NAME = "X-User-Name";
+    private static final String USER_ROLE = "X-User-Role";
+    private static final String USER_EXPIRES = "X-User-Expires";
+    private static final String USER_SIGNATURE = "X-User-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKeySpec key;
+
+    public GatewayIdentityVerifier(@Value("${app.gateway.identity-secret:}") String secret) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        this.key = secretBytes.length >= MIN_SECRET_BYTES ? new SecretKeySpec(secretBytes, ALGORITHM) : null;
+        if (key == null) {
+            log.warn("Gateway identity secret is missing or too short; gateway service calls will be rejected");
+        }
+    }
+
+    /**
+     * @return the name of the calling gateway, or null if the headers are missing, expired,
+     *         not signed by the gateway or describe a user
+     */
+    public String verifyService(HttpServletRequest request) {
+        String signature = request.getHeader(USER_SIGNATURE);
+        String role = request.getHeader(USER_ROLE);
+        if (key == null || signature == null || !SERVICE_ROLE.equals(role)) {
+            return null;
+        }
+
+        String userId = request.getHeader(USER_ID);
+        String email = request.getHeader(USER_EMAIL);
+        String name = request.getHeader(USER_NAME);
+        String expires = request.getHeader(USER_EXPIRES);
+        if (userId == null || email == null || name == null || expires == null) {
+            return null;
+        }
+
+        try {
+            if (Long.parseLong(expires) * 1000 < System.currentTimeMillis()) {
+                return null;
+            }
+
+            byte[] expected = sign(String.join("\n", userId, email, name, role, expires));
+            if (!MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(signature))) {
+                log.warn("Rejected gateway service headers with an invalid signature");
+                return null;
+            }
+            return name;
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed gateway service headers: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] sign(String canonical) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot verify gateway identity headers", e);
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.taskmanagement.auth.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,6 +19,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +28,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
+    
+    // When enabled, the principal is built from the verified token claims instead of
+    // reloading the user from the database on every request
+    @Value("${app.jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -30,20 +42,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = parseJwt(request);
             if (jwt != null) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
-                
-                log.debug("Processing JWT token for user: {}", username);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                Claims claims = jwtUtil.parseValidClaims(jwt);
+                if (claims == null) {
+                    log.warn("Token validation failed");
+                } else if (tokenRevocationStore.isRevoked(claims.get("id", Long.class), JwtUtil.issuedAtMillis(claims))) {
+                    log.warn("Rejected revoked token for user: {}", claims.getSubject());
+                } else {
+                    String username = claims.getSubject();
+                    log.debug("Processing JWT token for user: {}", username);
+                    
+                    UserDetails userDetails = stateless && !requiresFreshUser(request)
+                            ? UserDetailsImpl.fromClaims(claims)
+                            : userDetailsService.loadUserByUsername(username);
+                    
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                     log.debug("User authenticated successfully: {}", username);
-                } else {
-                    log.warn("Token validation failed for user: {}", username);
+                }
+            } else {
+                String service = gatewayIdentityVerifier.verifyService(request);
+                if (service != null) {
+                    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                            service, null, List.of(new SimpleGrantedAuthority("ROLE_" + GatewayIdentityVerifier.SERVICE_ROLE))));
                 }
             }
         } catch (Exception e) {
@@ -53,6 +76,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Mutations of user accounts are authorized against the current database state
+     * even in stateless mode, so they never act on a stale role from the token
+     */
+    private boolean requiresFreshUser(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                && request.getRequestURI().startsWith("/api/users");
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
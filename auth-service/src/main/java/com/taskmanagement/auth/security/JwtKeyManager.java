@@ -0,0 +1,262 @@
+package com.taskmanagement.auth.security;
+
+import com.taskmanagement.auth.model.entity.JwtSigningKey;
+import com.taskmanagement.auth.repository.JwtSigningKeyRepository;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Owns the ES256 key pairs used to sign access tokens.
+ * A new key is generated every rotation interval. It is published in the JWKS for an
+ * activation delay before it is used for signing, so verifiers that refresh their key
+ * set periodically already know it, and it stays published until every token signed
+ * with it has expired. Rotation therefore needs no coordinated redeploy.
+ *
+ * Private keys are stored encrypted with AES-GCM under a key derived from
+ * app.jwt.signing.key-encryption-secret, so a copy of the database alone cannot sign tokens.
+ * Without the secret they are stored unencrypted, which is only meant for local development;
+ * unencrypted keys written before the secret was set stay readable until rotation retires them.
+ */
+@Component
+@Slf4j
+public class JwtKeyManager {
+
+    public static final String ALGORITHM = "ES256";
+
+    private static final String ENCRYPTED_PREFIX = "v1:";
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final JwtSigningKeyRepository signingKeyRepository;
+    private final Duration rotationInterval;
+    private final Duration activationDelay;
+    private final Duration tokenLifetime;
+    private final SecretKeySpec keyEncryptionKey;
+    private final SecureRandom random = new SecureRandom();
+
+    private volatile List<LoadedKey> keys = List.of();
+
+    public JwtKeyManager(JwtSigningKeyRepository signingKeyRepository,
+                         @Value("${app.jwt.signing.rotation-interval-ms:604800000}") long rotationIntervalMs,
+                         @Value("${app.jwt.signing.activation-delay-ms:900000}") long activationDelayMs,
+                         @Value("${app.jwt.expiration}") long jwtExpirationMs,
+                         @Value("${app.jwt.signing.key-encryption-secret:}") String keyEncryptionSecret) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.rotationInterval = Duration.ofMillis(rotationIntervalMs);
+        this.activationDelay = Duration.ofMillis(activationDelayMs);
+        this.tokenLifetime = Duration.ofMillis(jwtExpirationMs);
+        this.keyEncryptionKey = keyEncryptionSecret.isEmpty() ? null : deriveKey(keyEncryptionSecret);
+        if (keyEncryptionKey == null) {
+            log.warn("JWT key encryption secret is not set; signing keys are stored unencrypted");
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        reload();
+        if (keys.isEmpty()) {
+            generateKey();
+            reload();
+        }
+    }
+
+    /**
+     * Rotate and prune keys when due, then pick up keys created by other replicas
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.signing.reload-interval-ms:60000}")
+    public void rotateAndReload() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<LoadedKey> current = keys;
+
+            if (current.isEmpty() || current.get(0).getCreatedAt().isBefore(now.minus(rotationInterval))) {
+                generateKey();
+            }
+
+            // A key can go once its successor has been signing for longer than a token lives
+            for (int i = 1; i < current.size(); i++) {
+                LocalDateTime successorActiveSince = current.get(i - 1).getCreatedAt().plus(activationDelay);
+                if (successorActiveSince.plus(tokenLifetime).isBefore(now)) {
+                    signingKeyRepository.deleteById(current.get(i).getKid());
+                    log.info("Removed retired JWT signing key {}", current.get(i).getKid());
+                }
+            }
+
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to rotate JWT signing keys: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The newest key that has been published for at least the activation delay.
+     * Falls back to the newest key when none qualifies yet, e.g. on first start.
+     */
+    public LoadedKey getSigningKey() {
+        List<LoadedKey> current = keys;
+        LocalDateTime activeBefore = LocalDateTime.now().minus(activationDelay);
+        return current.stream()
+                .filter(key -> !key.getCreatedAt().isAfter(activeBefore))
+                .findFirst()
+                .orElse(current.get(0));
+    }
+
+    public PublicKey getPublicKey(String kid) {
+        for (LoadedKey key : keys) {
+            if (key.getKid().equals(kid)) {
+                return key.getPublicKey();
+            }
+        }
+        throw new SignatureException("Unknown JWT signing key: " + kid);
+    }
+
+    /**
+     * Public keys in JWK Set format for /.well-known/jwks.json
+     */
+    public Map<String, Object> getJwks() {
+        List<Map<String, Object>> jwks = keys.stream()
+                .map(key -> toJwk(key.getKid(), (ECPublicKey) key.getPublicKey()))
+                .collect(Collectors.toList());
+        return Map.of("keys", jwks);
+    }
+
+    private void reload() {
+        List<LoadedKey> loaded = new ArrayList<>();
+        for (JwtSigningKey entity : signingKeyRepository.findAllByOrderByCreatedAtDesc()) {
+            try {
+                KeyFactory keyFactory = KeyFactory.getInstance("EC");
+                loaded.add(new LoadedKey(
+                        entity.getKid(),
+                        entity.getCreatedAt(),
+                        keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decryptPrivateKey(entity.getPrivateKey()))),
+                        keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(entity.getPublicKey())))));
+            } catch (GeneralSecurityException e) {
+                log.error("Skipping unreadable JWT signing key {}: {}", entity.getKid(), e.getMessage());
+            }
+        }
+        if (!loaded.isEmpty()) {
+            keys = List.copyOf(loaded);
+        }
+    }
+
+    private void generateKey() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+
+            JwtSigningKey key = signingKeyRepository.save(JwtSigningKey.builder()
+                    .kid(UUID.randomUUID().toString())
+                    .algorithm(ALGORITHM)
+                    .privateKey(encryptPrivateKey(keyPair.getPrivate().getEncoded()))
+                    .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            log.info("Generated new JWT signing key {}", key.getKid());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate JWT signing key", e);
+        }
+    }
+
+    private String encryptPrivateKey(byte[] encoded) throws GeneralSecurityException {
+        if (keyEncryptionKey == null) {
+            return Base64.getEncoder().encodeToString(encoded);
+        }
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, keyEncryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+        byte[] ciphertext = cipher.doFinal(encoded);
+
+        byte[] stored = new byte[IV_BYTES + ciphertext.length];
+        System.arraycopy(iv, 0, stored, 0, IV_BYTES);
+        System.arraycopy(ciphertext, 0, stored, IV_BYTES, ciphertext.length);
+        return ENCRYPTED_PREFIX + Base64.getEncoder().encodeToString(stored);
+    }
+
+    private byte[] decryptPrivateKey(String stored) throws GeneralSecurityException {
+        if (!stored.startsWith(ENCRYPTED_PREFIX)) {
+            return Base64.getDecoder().decode(stored);
+        }
+        if (keyEncryptionKey == null) {
+            throw new GeneralSecurityException("key is encrypted but no key encryption secret is set");
+        }
+        byte[] bytes = Base64.getDecoder().decode(stored.substring(ENCRYPTED_PREFIX.length()));
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, keyEncryptionKey, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_BYTES));
+        return cipher.doFinal(bytes, IV_BYTES, bytes.length - IV_BYTES);
+    }
+
+    private static SecretKeySpec deriveKey(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return new SecretKeySpec(digest, "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to derive the JWT key encryption key", e);
+        }
+    }
+
+    private Map<String, Object> toJwk(String kid, ECPublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", ALGORITHM);
+        jwk.put("x", encodeCoordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", encodeCoordinate(publicKey.getW().getAffineY()));
+        return jwk;
+    }
+
+    // JWK coordinates are unsigned, big-endian and exactly 32 bytes for P-256
+    private String encodeCoordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int copy = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - copy, fixed, 32 - copy, copy);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LoadedKey {
+        private final String kid;
+        private final LocalDateTime createdAt;
+        private final PrivateKey privateKey;
+        private final PublicKey publicKey;
+    }
+}
@@ -1,7 +1,7 @@
 package com.taskmanagement.auth.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,18 +20,37 @@ import java.util.function.Function;
 @Slf4j
 public class JwtUtil {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    // The standard iat is truncated to the second, too coarse to tell a token from a revocation in the same second
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iatMillis";
+
+    private final JwtKeyManager keyManager;
 
     @Value("${app.jwt.expiration}")
     private long jwtExpirationMs;
     
     @Value("${app.jwt.issuer}")
     private String issuer;
+    
+    private JwtParser parser;
+    
+    @PostConstruct
+    void init() {
+        // The parser is thread-safe, so build it once; keys are resolved per token by kid
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyManager.getPublicKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
     public String generateToken(Authentication authentication) {
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        
+        return generateToken((UserDetailsImpl) authentication.getPrincipal());
+    }
+
+    public String generateToken(UserDetailsImpl userDetails) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
         
@@ -40,19 +59,38 @@ public class JwtUtil {
         claims.put("email", userDetails.getUsername());
         claims.put("name", userDetails.getName());
         claims.put("role", userDetails.getMainRole());
+        claims.put(ISSUED_AT_MILLIS_CLAIM, now.getTime());
         
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        JwtKeyManager.LoadedKey signingKey = keyManager.getSigningKey();
         
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid())
                 .setClaims(claims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .setIssuer(issuer)
-                .signWith(key, SignatureAlgorithm.HS512)
+                .signWith(signingKey.getPrivateKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
+    /**
+     * When the token was issued, to the millisecond. A token with only the standard iat is taken
+     * as issued at the end of that second.
+     * @return null if the token does not say
+     */
+    public static Long issuedAtMillis(Claims claims) {
+        Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis;
+        }
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() + 999 : null;
+    }
+
+    public long getExpirationSeconds() {
+        return jwtExpirationMs / 1000;
+    }
+
     public String getUsernameFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
     }
@@ -67,18 +105,16 @@ public class JwtUtil {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
+    /**
+     * Verify the signature and expiry of a token and return its claims, parsing it only once
+     * @return the claims, or null if the token is invalid or expired
+     */
+    public Claims parseValidClaims(String token) {
         try {
-            final String username = getUsernameFromToken(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            return getAllClaimsFromToken(token);
         } catch (SignatureException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -90,11 +126,11 @@ public class JwtUtil {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
-    
-    private boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+
+    public boolean validateToken(String token, UserDetails userDetails) {
+        final Claims claims = parseValidClaims(token);
+        return claims != null && claims.getSubject().equals(userDetails.getUsername());
     }
 }
@@ -0,0 +1,164 @@
+package com.taskmanagement.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanagement.auth.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Throttles failed logins per client IP and per account, before any password hashing.
+ * After a few failures an account must wait a progressively longer delay between
+ * attempts, and after many it is locked for a while. An IP that fails too often
+ * within the window is blocked regardless of which accounts it tries.
+ * State is kept in size-bounded caches, so a flood of distinct IPs or emails
+ * cannot grow memory without limit.
+ */
+@Component
+@Slf4j
+public class LoginAttemptLimiter {
+
+    private static final int WINDOW_BUCKETS = 15;
+
+    private final Cache<String, SlidingWindowCounter> ipFailures;
+    private final Cache<String, AccountAttempts> accountAttempts;
+    private final long windowMillis;
+    private final int ipMaxFailures;
+    private final int delayAfterFailures;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int lockAfterFailures;
+    private final long lockMillis;
+
+    private final Counter allowed;
+    private final Counter ipLimited;
+    private final Counter accountDelayed;
+    private final Counter accountLocked;
+
+    public LoginAttemptLimiter(MeterRegistry meterRegistry,
+                               @Value("${app.security.login-limiter.window-ms:900000}") long windowMillis,
+                               @Value("${app.security.login-limiter.max-tracked-keys:100000}") long maxTrackedKeys,
+                               @Value("${app.security.login-limiter.ip-max-failures:50}") int ipMaxFailures,
+                               @Value("${app.security.login-limiter.delay-after-failures:3}") int delayAfterFailures,
+                               @Value("${app.security.login-limiter.base-delay-ms:1000}") long baseDelayMillis,
+                               @Value("${app.security.login-limiter.max-delay-ms:30000}") long maxDelayMillis,
+                               @Value("${app.security.login-limiter.lock-after-failures:10}") int lockAfterFailures,
+                               @Value("${app.security.login-limiter.lock-duration-ms:900000}") long lockMillis) {
+        this.windowMillis = windowMillis;
+        this.ipMaxFailures = ipMaxFailures;
+        this.delayAfterFailures = delayAfterFailures;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.lockAfterFailures = lockAfterFailures;
+        this.lockMillis = lockMillis;
+
+        this.ipFailures = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMillis(windowMillis))
+                .recordStats()
+                .build();
+        this.accountAttempts = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMillis(Math.max(windowMillis, lockMillis)))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, ipFailures, "login.limiter.ips");
+        CaffeineCacheMetrics.monitor(meterRegistry, accountAttempts, "login.limiter.accounts");
+        this.allowed = decisionCounter(meterRegistry, "allowed");
+        this.ipLimited = decisionCounter(meterRegistry, "ip_limited");
+        this.accountDelayed = decisionCounter(meterRegistry, "account_delayed");
+        this.accountLocked = decisionCounter(meterRegistry, "account_locked");
+    }
+
+    /**
+     * Reject the attempt if the IP or account is currently throttled
+     * @throws TooManyLoginAttemptsException with the number of seconds to wait
+     */
+    public void checkAllowed(String clientIp, String email) {
+        long now = System.currentTimeMillis();
+
+        SlidingWindowCounter ipCounter = ipFailures.getIfPresent(clientIp);
+        if (ipCounter != null && ipCounter.count(now) >= ipMaxFailures) {
+            ipLimited.increment();
+            log.warn("Login throttled for IP {}", clientIp);
+            throw new TooManyLoginAttemptsException("Too many failed login attempts, please try again later",
+                    toSeconds(windowMillis / WINDOW_BUCKETS));
+        }
+
+        AccountAttempts attempts = accountAttempts.getIfPresent(normalize(email));
+        if (attempts != null) {
+            long lockedFor = attempts.lockedUntil - now;
+            if (lockedFor > 0) {
+                accountLocked.increment();
+                throw new TooManyLoginAttemptsException("Account is temporarily locked after too many failed login attempts",
+                        toSeconds(lockedFor));
+            }
+
+            long waitFor = attempts.lastFailureAt + delayFor(attempts.failures.count(now)) - now;
+            if (waitFor > 0) {
+                accountDelayed.increment();
+                throw new TooManyLoginAttemptsException("Too many failed login attempts, please wait before retrying",
+                        toSeconds(waitFor));
+            }
+        }
+
+        allowed.increment();
+    }
+
+    public void recordFailure(String clientIp, String email) {
+        long now = System.currentTimeMillis();
+
+        ipFailures.get(clientIp, key -> new SlidingWindowCounter(windowMillis, WINDOW_BUCKETS)).increment(now);
+
+        AccountAttempts attempts = accountAttempts.get(normalize(email), key -> new AccountAttempts());
+        attempts.failures.increment(now);
+        attempts.lastFailureAt = now;
+        if (attempts.failures.count(now) >= lockAfterFailures) {
+            attempts.lockedUntil = now + lockMillis;
+            attempts.failures.reset();
+            log.warn("Temporarily locked account {} after {} failed logins", email, lockAfterFailures);
+        }
+    }
+
+    public void recordSuccess(String email) {
+        accountAttempts.invalidate(normalize(email));
+    }
+
+    // No delay for the first few failures, then doubling up to the cap
+    private long delayFor(long failures) {
+        if (failures < delayAfterFailures) {
+            return 0;
+        }
+        int exponent = (int) Math.min(failures - delayAfterFailures, 20);
+        return Math.min(maxDelayMillis, baseDelayMillis << exponent);
+    }
+
+    private String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private long toSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    private Counter decisionCounter(MeterRegistry meterRegistry, String decision) {
+        return Counter.builder("auth.login.limiter.decisions")
+                .tag("decision", decision)
+                .description("Login limiter decisions")
+                .register(meterRegistry);
+    }
+
+    private class AccountAttempts {
+        private final SlidingWindowCounter failures = new SlidingWindowCounter(windowMillis, WINDOW_BUCKETS);
+        private volatile long lastFailureAt;
+        private volatile long lockedUntil;
+    }
+}
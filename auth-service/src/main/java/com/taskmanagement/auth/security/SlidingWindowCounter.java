@@ -0,0 +1,55 @@
+package com.taskmanagement.auth.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free event counter over a sliding time window.
+ * The window is split into a ring of buckets; each bucket remembers which time slot it
+ * currently counts, and a stale bucket is reset with a compare-and-set the first time
+ * the ring wraps around to it. Reads sum the buckets still inside the window.
+ * An increment racing with a bucket reset may be lost, which is fine for throttling.
+ */
+public class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final AtomicLongArray slots;
+    private final AtomicLongArray counts;
+
+    public SlidingWindowCounter(long windowMillis, int bucketCount) {
+        this.bucketCount = bucketCount;
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.slots = new AtomicLongArray(bucketCount);
+        this.counts = new AtomicLongArray(bucketCount);
+    }
+
+    public void increment(long nowMillis) {
+        long slot = nowMillis / bucketMillis;
+        int index = (int) (slot % bucketCount);
+
+        long current = slots.get(index);
+        if (current != slot && slots.compareAndSet(index, current, slot)) {
+            // This thread moved the bucket to the new slot, so it starts the count over
+            counts.set(index, 0);
+        }
+        counts.incrementAndGet(index);
+    }
+
+    public long count(long nowMillis) {
+        long oldestSlot = nowMillis / bucketMillis - bucketCount + 1;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            if (slots.get(i) >= oldestSlot) {
+                total += counts.get(i);
+            }
+        }
+        return total;
+    }
+
+    public void reset() {
+        for (int i = 0; i < bucketCount; i++) {
+            slots.set(i, 0);
+            counts.set(i, 0);
+        }
+    }
+}
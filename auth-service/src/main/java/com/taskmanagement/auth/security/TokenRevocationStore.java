@@ -0,0 +1,94 @@
+package com.taskmanagement.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanagement.auth.cache.UserCacheInvalidation;
+import com.taskmanagement.auth.cache.UserCacheInvalidationBus;
+import com.taskmanagement.auth.model.dto.TokenRevocationDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory per-user revocation list for stateless token authentication.
+ * Holds one timestamp per user whose tokens were revoked; any token issued to that
+ * user before the timestamp is rejected. Entries expire after the access token lifetime,
+ * since every token they could reject has expired by then, which keeps the list compact.
+ * Each change gets an increasing version so other services can pull only what changed.
+ *
+ * The list is per replica and learns about revocations made elsewhere only through the
+ * UserCacheInvalidationBus. With the default in-process bus, the feed a replica serves is only
+ * complete when auth-service runs as a single replica; more replicas need a shared bus.
+ */
+@Component
+@Slf4j
+public class TokenRevocationStore {
+    
+    private final Cache<Long, TokenRevocationDto> revocations;
+    // Seeded from the clock so versions keep increasing across restarts
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    
+    public TokenRevocationStore(UserCacheInvalidationBus invalidationBus,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.jwt.expiration}") long jwtExpirationMs) {
+        this.revocations = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtExpirationMs))
+                .build();
+        
+        Gauge.builder("auth.tokens.revoked.users", revocations, Cache::estimatedSize)
+                .description("Number of users with revoked tokens held in memory")
+                .register(meterRegistry);
+        
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+    
+    /**
+     * Revoke every token issued to a user up to the given instant
+     */
+    public void revoke(Long userId, long revokedAtMillis) {
+        // Tokens carry their issue time to the millisecond, so a login right after the revocation stays valid
+        long revokedBefore = revokedAtMillis + 1;
+        revocations.asMap().compute(userId, (id, existing) -> TokenRevocationDto.builder()
+                .userId(id)
+                .revokedBefore(existing == null ? revokedBefore : Math.max(existing.getRevokedBefore(), revokedBefore))
+                .version(version.incrementAndGet())
+                .build());
+        log.debug("Revoked tokens issued to user {} before {}", userId, revokedBefore);
+    }
+    
+    /**
+     * @param issuedAtMillis from {@link JwtUtil#issuedAtMillis}, or null if the token does not say
+     */
+    public boolean isRevoked(Long userId, Long issuedAtMillis) {
+        TokenRevocationDto revocation = revocations.getIfPresent(userId);
+        return revocation != null && (issuedAtMillis == null || issuedAtMillis < revocation.getRevokedBefore());
+    }
+    
+    public long currentVersion() {
+        return version.get();
+    }
+    
+    /**
+     * Revocations changed after the given version, oldest first
+     */
+    public List<TokenRevocationDto> changesSince(long sinceVersion) {
+        return revocations.asMap().values().stream()
+                .filter(revocation -> revocation.getVersion() > sinceVersion)
+                .sorted(Comparator.comparing(TokenRevocationDto::getVersion))
+                .collect(Collectors.toList());
+    }
+    
+    private void onInvalidation(UserCacheInvalidation invalidation) {
+        if (invalidation.getUserId() != null && invalidation.getTokensRevokedAt() != null) {
+            revoke(invalidation.getUserId(), invalidation.getTokensRevokedAt());
+        }
+    }
+}
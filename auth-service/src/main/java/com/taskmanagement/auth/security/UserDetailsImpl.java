@@ -3,6 +3,7 @@ package com.taskmanagement.auth.security;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.taskmanagement.auth.model.entity.Role;
 import com.taskmanagement.auth.model.entity.User;
+import io.jsonwebtoken.Claims;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,7 +14,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Data
 @Builder
@@ -35,9 +35,10 @@ public class UserDetailsImpl implements UserDetails {
     private Collection<? extends GrantedAuthority> authorities;
 
     public static UserDetailsImpl build(User user) {
-        List<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
-                .collect(Collectors.toList());
+        Role.RoleName primaryRole = user.resolvePrimaryRole();
+        List<GrantedAuthority> authorities = primaryRole != null
+                ? List.of(new SimpleGrantedAuthority(primaryRole.name()))
+                : List.of();
 
         return UserDetailsImpl.builder()
                 .id(user.getId())
@@ -50,6 +51,21 @@ public class UserDetailsImpl implements UserDetails {
                 .build();
     }
     
+    /**
+     * Build a principal from the claims of an already verified token, without a database lookup.
+     * The token could only have been issued to an unlocked, verified account.
+     */
+    public static UserDetailsImpl fromClaims(Claims claims) {
+        return UserDetailsImpl.builder()
+                .id(claims.get("id", Long.class))
+                .name(claims.get("name", String.class))
+                .email(claims.getSubject())
+                .emailVerified(true)
+                .accountLocked(false)
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + claims.get("role", String.class))))
+                .build();
+    }
+    
     public String getMainRole() {
         return getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
@@ -1,9 +1,12 @@
 package com.taskmanagement.auth.security;
 
+import com.taskmanagement.auth.cache.UserCache;
 import com.taskmanagement.auth.model.entity.User;
 import com.taskmanagement.auth.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,9 +14,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+@Slf4j
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     @Transactional
@@ -23,4 +28,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return UserDetailsImpl.build(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Called by the authentication provider after a successful login when the stored
+     * hash was produced with a weaker BCrypt strength than the configured one
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        
+        user.setPassword(newPassword);
+        User savedUser = userRepository.save(user);
+        userCache.invalidate(savedUser.getId(), savedUser.getEmail());
+        log.info("Upgraded password hash strength for user: {}", savedUser.getEmail());
+        
+        return UserDetailsImpl.build(savedUser);
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+
 @Component
 @RequiredArgsConstructor
 public class UserSecurity {
@@ -24,4 +26,12 @@ public class UserSecurity {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         return userDetails.getId().equals(userId);
     }
+    
+    /**
+     * Check if every id in the given collection is the authenticated user's id
+     * This is used for authorization of batch lookups by non-admin users
+     */
+    public boolean isOnlyCurrentUser(Collection<Long> userIds) {
+        return userIds != null && !userIds.isEmpty() && userIds.stream().allMatch(this::isCurrentUser);
+    }
 }
\ No newline at end of file
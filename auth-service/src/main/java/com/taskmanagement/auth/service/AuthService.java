@@ -1,28 +1,29 @@
 package com.taskmanagement.auth.service;
 
-import com.taskmanagement.auth.exception.ResourceNotFoundException;
+import com.taskmanagement.auth.cache.RoleCache;
+import com.taskmanagement.auth.exception.TokenRefreshException;
 import com.taskmanagement.auth.model.dto.AuthResponse;
 import com.taskmanagement.auth.model.dto.LoginRequest;
+import com.taskmanagement.auth.model.dto.RefreshTokenRequest;
 import com.taskmanagement.auth.model.dto.RegisterRequest;
 import com.taskmanagement.auth.model.entity.Role;
 import com.taskmanagement.auth.model.entity.User;
-import com.taskmanagement.auth.repository.RoleRepository;
 import com.taskmanagement.auth.repository.UserRepository;
 import com.taskmanagement.auth.security.JwtUtil;
+import com.taskmanagement.auth.security.LoginAttemptLimiter;
 import com.taskmanagement.auth.security.UserDetailsImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -31,33 +32,60 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCache roleCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginActivityRecorder loginActivityRecorder;
+    private final LoginAttemptLimiter loginAttemptLimiter;
 
-    public AuthResponse authenticateUser(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+    public AuthResponse authenticateUser(LoginRequest loginRequest, String clientIp) {
+        // Throttled attempts are rejected here, before any password hashing
+        loginAttemptLimiter.checkAllowed(clientIp, loginRequest.getEmail());
+        
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+        } catch (AuthenticationException e) {
+            loginActivityRecorder.recordFailure();
+            loginAttemptLimiter.recordFailure(clientIp, loginRequest.getEmail());
+            throw e;
+        }
+        loginAttemptLimiter.recordSuccess(loginRequest.getEmail());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtil.generateToken(authentication);
         
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         
-        // Update last login time
-        userRepository.findById(userDetails.getId())
-            .ifPresent(user -> {
-                user.setLastLoginAt(LocalDateTime.now());
-                userRepository.save(user);
-            });
+        // Last login time is written asynchronously in batches
+        loginActivityRecorder.recordLogin(userDetails.getId(), userDetails.getUsername(), LocalDateTime.now());
         
-        return AuthResponse.builder()
-                .id(userDetails.getId())
-                .name(userDetails.getName())
-                .email(userDetails.getUsername())
-                .role(userDetails.getMainRole())
-                .token(jwt)
-                .build();
+        return buildAuthResponse(userDetails, jwt, refreshTokenService.issue(userDetails.getId()));
+    }
+    
+    /**
+     * Rotate a refresh token and issue a new short-lived access token for its user
+     */
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public AuthResponse refreshToken(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        
+        User user = userRepository.findById(rotation.getUserId())
+                .orElseThrow(() -> new TokenRefreshException("User no longer exists"));
+        
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+            refreshTokenService.revokeAllForUser(user.getId());
+            throw new TokenRefreshException("User account is disabled or locked");
+        }
+        
+        return buildAuthResponse(userDetails, jwtUtil.generateToken(userDetails), rotation.getRefreshToken());
+    }
+    
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
     }
 
     @Transactional
@@ -76,32 +104,32 @@ public class AuthService {
                 .build();
 
         // Set role as MEMBER by default
-        Set<Role> roles = new HashSet<>();
-        Role memberRole = roleRepository.findByName(Role.RoleName.ROLE_MEMBER)
-                .orElseThrow(() -> new ResourceNotFoundException("Error: Role MEMBER is not found."));
-        roles.add(memberRole);
-        user.setRoles(roles);
+        user.assignRole(roleCache.getRole(Role.RoleName.ROLE_MEMBER));
 
+        // Update last login time
+        user.setLastLoginAt(LocalDateTime.now());
+        
         User savedUser = userRepository.save(user);
         log.info("User registered successfully: {}", savedUser.getEmail());
 
-        // Authenticate the newly registered user
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(registerRequest.getEmail(), registerRequest.getPassword()));
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtil.generateToken(authentication);
-        
-        // Update last login time
-        savedUser.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(savedUser);
+        // The password was just hashed from this request, so issue the token without verifying it again
+        UserDetailsImpl userDetails = UserDetailsImpl.build(savedUser);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        String jwt = jwtUtil.generateToken(userDetails);
 
+        return buildAuthResponse(userDetails, jwt, refreshTokenService.issue(savedUser.getId()));
+    }
+    
+    private AuthResponse buildAuthResponse(UserDetailsImpl userDetails, String jwt, String refreshToken) {
         return AuthResponse.builder()
-                .id(savedUser.getId())
-                .name(savedUser.getName())
-                .email(savedUser.getEmail())
-                .role("MEMBER") // Default role for new users
+                .id(userDetails.getId())
+                .name(userDetails.getName())
+                .email(userDetails.getUsername())
+                .role(userDetails.getMainRole())
                 .token(jwt)
+                .refreshToken(refreshToken)
+                .expiresIn(jwtUtil.getExpirationSeconds())
                 .build();
     }
 }
\ No newline at end of file
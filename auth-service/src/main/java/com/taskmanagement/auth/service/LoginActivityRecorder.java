@@ -0,0 +1,108 @@
+package com.taskmanagement.auth.service;
+
+import com.taskmanagement.auth.cache.UserCache;
+import com.taskmanagement.auth.repository.UserJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records successful logins off the login critical path.
+ * Logins are buffered in memory, coalesced to the latest one per user, and written
+ * periodically with a single batched UPDATE of last_login_at.
+ */
+@Component
+@Slf4j
+public class LoginActivityRecorder {
+
+    private final UserJdbcRepository userJdbcRepository;
+    private final UserCache userCache;
+    private final Map<Long, PendingLogin> pending = new ConcurrentHashMap<>();
+    private final Counter logins;
+    private final Counter failures;
+
+    public LoginActivityRecorder(UserJdbcRepository userJdbcRepository,
+                                 UserCache userCache,
+                                 MeterRegistry meterRegistry) {
+        this.userJdbcRepository = userJdbcRepository;
+        this.userCache = userCache;
+        this.logins = Counter.builder("auth.logins")
+                .tag("outcome", "success")
+                .description("Number of login attempts")
+                .register(meterRegistry);
+        this.failures = Counter.builder("auth.logins")
+                .tag("outcome", "failure")
+                .description("Number of login attempts")
+                .register(meterRegistry);
+        Gauge.builder("auth.logins.pending", pending, Map::size)
+                .description("Users with a login not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffer a successful login; only the latest one per user is kept until the next flush
+     */
+    public void recordLogin(Long userId, String email, LocalDateTime loginAt) {
+        logins.increment();
+        pending.merge(userId, new PendingLogin(email, loginAt),
+                (existing, latest) -> latest.loginAt.isAfter(existing.loginAt) ? latest : existing);
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.login-activity.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Remove entry by entry so logins recorded during the flush stay for the next one
+        Map<Long, PendingLogin> batch = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            PendingLogin login = pending.remove(userId);
+            if (login != null) {
+                batch.put(userId, login);
+            }
+        }
+
+        Map<Long, LocalDateTime> lastLogins = new HashMap<>();
+        batch.forEach((userId, login) -> lastLogins.put(userId, login.loginAt));
+
+        try {
+            userJdbcRepository.batchUpdateLastLogin(lastLogins);
+            batch.forEach((userId, login) -> userCache.updateLastLogin(userId, login.email, login.loginAt));
+            log.debug("Recorded last login for {} users", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to record last login for {} users: {}", batch.size(), e.getMessage());
+            // Put them back unless a newer login arrived meanwhile
+            batch.forEach((userId, login) -> pending.merge(userId, login,
+                    (newer, failed) -> newer.loginAt.isAfter(failed.loginAt) ? newer : failed));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static class PendingLogin {
+        private final String email;
+        private final LocalDateTime loginAt;
+
+        PendingLogin(String email, LocalDateTime loginAt) {
+            this.email = email;
+            this.loginAt = loginAt;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.taskmanagement.auth.service;
+
+import com.taskmanagement.auth.cache.UserCache;
+import com.taskmanagement.auth.exception.TokenRefreshException;
+import com.taskmanagement.auth.model.entity.RefreshToken;
+import com.taskmanagement.auth.repository.RefreshTokenRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserCache userCache;
+
+    @Value("${app.jwt.refresh-expiration}")
+    private long refreshExpirationMs;
+
+    /**
+     * Issue a refresh token that starts a new rotation family, e.g. on login
+     * @return the raw token value; only its hash is stored
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchange a refresh token for a new one in the same family.
+     * Presenting a token that was already rotated means it leaked, so the whole family
+     * and every access token of the user are revoked.
+     * @return the user id and the new raw token
+     */
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new TokenRefreshException("Invalid refresh token"));
+
+        LocalDateTime now = LocalDateTime.now();
+
+        if (token.getUsedAt() != null) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            userCache.invalidateAndRevokeTokens(token.getUserId());
+            log.warn("Refresh token reuse detected for user {}, revoked token family {}", token.getUserId(), token.getFamilyId());
+            throw new TokenRefreshException("Refresh token has already been used");
+        }
+
+        if (token.getRevokedAt() != null) {
+            throw new TokenRefreshException("Refresh token has been revoked");
+        }
+
+        if (token.getExpiresAt().isBefore(now)) {
+            throw new TokenRefreshException("Refresh token has expired");
+        }
+
+        token.setUsedAt(now);
+        refreshTokenRepository.save(token);
+
+        return new Rotation(token.getUserId(), issue(token.getUserId(), token.getFamilyId()));
+    }
+
+    /**
+     * Revoke the family of a refresh token, e.g. on logout. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * Revoke every refresh token of a user, e.g. after a password reset or account lock
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        int revoked = refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+        log.debug("Revoked {} refresh tokens for user {}", revoked, userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .userId(userId)
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000))
+                .build());
+
+        return rawToken;
+    }
+
+    // Refresh tokens are 256 random bits, so a fast hash is enough to make a leaked table useless
+    private String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Rotation {
+        private Long userId;
+        private String refreshToken;
+    }
+}
@@ -0,0 +1,165 @@
+package com.taskmanagement.auth.service;
+
+import com.taskmanagement.auth.model.dto.BulkUserResult;
+import com.taskmanagement.auth.model.dto.CreateUserRequest;
+import com.taskmanagement.auth.model.entity.Role;
+import com.taskmanagement.auth.model.entity.User;
+import com.taskmanagement.auth.repository.UserJdbcRepository;
+import com.taskmanagement.auth.repository.UserRepository;
+import com.taskmanagement.auth.security.PooledPasswordEncoder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many users in one request. Existing emails are checked with one query,
+ * passwords are hashed in parallel on the bounded hashing pool and the rows are
+ * written with batched inserts, instead of one createUser round trip per user.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserProvisioningService {
+    
+    private static final int MAX_USERS_PER_REQUEST = 1000;
+    
+    private final UserRepository userRepository;
+    private final UserJdbcRepository userJdbcRepository;
+    private final PooledPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    
+    /**
+     * Create the given users, skipping invalid rows, unknown roles and emails that are already taken
+     * @return per-row results in request order, plus created and failed counts
+     */
+    public Map<String, Object> createUsers(List<CreateUserRequest> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_USERS_PER_REQUEST) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_USERS_PER_REQUEST + " users can be created at once");
+        }
+        
+        BulkUserResult[] results = new BulkUserResult[requests.size()];
+        // Normalized email -> row index of the rows still to be created
+        Map<String, Integer> pending = new LinkedHashMap<>();
+        
+        for (int i = 0; i < requests.size(); i++) {
+            CreateUserRequest request = requests.get(i);
+            Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[i] = failed(i, request.getEmail(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            } else if (request.getRole() != null && parseRoleName(request.getRole()) == null) {
+                results[i] = failed(i, request.getEmail(), "Invalid role: " + request.getRole());
+            } else if (pending.putIfAbsent(normalize(request.getEmail()), i) != null) {
+                results[i] = failed(i, request.getEmail(), "Duplicate email in request");
+            }
+        }
+        
+        if (!pending.isEmpty()) {
+            List<String> emails = pending.values().stream()
+                    .map(i -> requests.get(i).getEmail().trim())
+                    .collect(Collectors.toList());
+            for (String existing : userRepository.findExistingEmails(emails)) {
+                Integer i = pending.remove(normalize(existing));
+                if (i != null) {
+                    results[i] = failed(i, requests.get(i).getEmail(), "Email is already taken!");
+                }
+            }
+        }
+        
+        if (!pending.isEmpty()) {
+            createPending(requests, new ArrayList<>(pending.values()), results);
+        }
+        
+        long created = Arrays.stream(results).filter(result -> result.getStatus() == BulkUserResult.Status.CREATED).count();
+        log.info("Bulk user creation: {} created, {} failed", created, results.length - created);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", Arrays.asList(results));
+        response.put("created", created);
+        response.put("failed", results.length - created);
+        
+        return response;
+    }
+    
+    private void createPending(List<CreateUserRequest> requests, List<Integer> indexes, BulkUserResult[] results) {
+        List<String> hashes = passwordEncoder.encodeAll(indexes.stream()
+                .map(i -> requests.get(i).getPassword())
+                .collect(Collectors.toList()));
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>(indexes.size());
+        for (int n = 0; n < indexes.size(); n++) {
+            CreateUserRequest request = requests.get(indexes.get(n));
+            users.add(User.builder()
+                    .name(request.getName())
+                    .email(request.getEmail().trim())
+                    .password(hashes.get(n))
+                    .primaryRole(parseRoleName(request.getRole()))
+                    .emailVerified(true) // Auto-verify for now
+                    .accountLocked(false)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        
+        Map<String, Long> ids = userJdbcRepository.insertUsers(users);
+        
+        for (int n = 0; n < indexes.size(); n++) {
+            int i = indexes.get(n);
+            String email = users.get(n).getEmail();
+            if (!ids.containsKey(email)) {
+                // Taken by a concurrent request after the existing emails were checked
+                results[i] = failed(i, requests.get(i).getEmail(), "Email is already taken!");
+                continue;
+            }
+            results[i] = BulkUserResult.builder()
+                    .index(i)
+                    .email(email)
+                    .status(BulkUserResult.Status.CREATED)
+                    .userId(ids.get(email))
+                    .build();
+        }
+    }
+    
+    /**
+     * Role for a requested role name, MEMBER if none was given, null if it is not a known role
+     */
+    private static Role.RoleName parseRoleName(String role) {
+        if (role == null) {
+            return Role.RoleName.ROLE_MEMBER;
+        }
+        try {
+            return Role.RoleName.valueOf("ROLE_" + role.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static BulkUserResult failed(int index, String email, String error) {
+        return BulkUserResult.builder()
+                .index(index)
+                .email(email)
+                .status(BulkUserResult.Status.FAILED)
+                .error(error)
+                .build();
+    }
+}
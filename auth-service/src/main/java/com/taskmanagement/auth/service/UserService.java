@@ -1,19 +1,29 @@
 package com.taskmanagement.auth.service;
 
+import com.taskmanagement.auth.cache.RoleCache;
+import com.taskmanagement.auth.cache.UserCache;
 import com.taskmanagement.auth.exception.ResourceNotFoundException;
 import com.taskmanagement.auth.model.dto.UserDto;
 import com.taskmanagement.auth.model.entity.Role;
 import com.taskmanagement.auth.model.entity.User;
-import com.taskmanagement.auth.repository.RoleRepository;
 import com.taskmanagement.auth.repository.UserRepository;
+import com.taskmanagement.auth.repository.UserSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -22,9 +32,15 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserService {
     
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_QUERY_PAGE_SIZE = 100;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "email", "createdAt", "lastLoginAt");
+    
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final RoleCache roleCache;
+    private final RefreshTokenService refreshTokenService;
     
     public List<UserDto> getAllUsers() {
         return userRepository.findAll().stream()
@@ -32,18 +48,80 @@ public class UserService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * One page of the user directory, filtered and sorted by the database
+     * @param search optional prefix of the user's name or email
+     * @param role optional role name, e.g. ADMIN
+     */
+    public Map<String, Object> queryUsers(String search, String role, int page, int size, String sortBy, String direction) {
+        if (page < 0 || size < 1 || size > MAX_QUERY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_QUERY_PAGE_SIZE);
+        }
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cannot sort users by " + sortBy);
+        }
+        
+        Specification<User> spec = Specification.where(null);
+        if (StringUtils.hasText(search)) {
+            spec = spec.and(UserSpecifications.nameOrEmailStartsWith(search.trim()));
+        }
+        if (StringUtils.hasText(role)) {
+            spec = spec.and(UserSpecifications.hasRole(parseRoleName(role)));
+        }
+        
+        // Tie-break on id so pages are stable when the sort field has duplicates
+        Sort sort = Sort.by(Sort.Direction.fromString(direction), sortBy).and(Sort.by("id"));
+        Page<User> usersPage = userRepository.findAll(spec, PageRequest.of(page, size, sort));
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("users", usersPage.getContent().stream().map(this::mapToDto).collect(Collectors.toList()));
+        result.put("total", usersPage.getTotalElements());
+        result.put("page", usersPage.getNumber());
+        result.put("size", usersPage.getSize());
+        result.put("totalPages", usersPage.getTotalPages());
+        
+        return result;
+    }
+    
+    /**
+     * Total users and users per role, counted with a single GROUP BY
+     */
+    public Map<String, Object> getUserStats() {
+        Map<String, Long> byRole = new HashMap<>();
+        for (Object[] row : userRepository.countUsersByRole()) {
+            byRole.put(((Role.RoleName) row[0]).name().replace("ROLE_", ""), (Long) row[1]);
+        }
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", userRepository.count());
+        stats.put("byRole", byRole);
+        
+        return stats;
+    }
+    
     public UserDto getUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        return userCache.getById(id, key -> userRepository.findById(key)
+                .map(this::mapToDto)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + key)));
+    }
+    
+    /**
+     * Get many users with a single query. Ids that do not exist are left out of the result.
+     */
+    public List<UserDto> getUsersByIds(Collection<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Cannot fetch more than " + MAX_BATCH_SIZE + " users at once");
+        }
         
-        return mapToDto(user);
+        return userRepository.findAllById(new HashSet<>(ids)).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
     }
     
     public UserDto getUserByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
-        
-        return mapToDto(user);
+        return userCache.getByEmail(email, key -> userRepository.findByEmail(key)
+                .map(this::mapToDto)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + key)));
     }
     
     @Transactional
@@ -61,7 +139,6 @@ public class UserService {
                 .build();
         
         // Set role
-        Set<Role> roles = new HashSet<>();
         Role.RoleName roleName;
         
         try {
@@ -71,11 +148,7 @@ public class UserService {
             roleName = Role.RoleName.ROLE_MEMBER;
         }
         
-        Role role = roleRepository.findByName(roleName)
-                .orElseThrow(() -> new ResourceNotFoundException("Error: Role is not found."));
-        
-        roles.add(role);
-        user.setRoles(roles);
+        user.assignRole(roleCache.getRole(roleName));
         
         User savedUser = userRepository.save(user);
         log.info("User created successfully: {}", savedUser.getEmail());
@@ -88,6 +161,7 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
+        String oldEmail = user.getEmail();
         user.setName(userDto.getName());
         
         // Check if email is being changed and is not already taken
@@ -107,6 +181,18 @@ public class UserService {
         }
         
         User updatedUser = userRepository.save(user);
+        
+        // Tokens carry the email as subject and are only honoured for unlocked, verified accounts
+        if (!oldEmail.equals(updatedUser.getEmail())
+                || Boolean.TRUE.equals(updatedUser.getAccountLocked())
+                || Boolean.FALSE.equals(updatedUser.getEmailVerified())) {
+            userCache.invalidateAndRevokeTokens(id, oldEmail, updatedUser.getEmail());
+            if (Boolean.TRUE.equals(updatedUser.getAccountLocked())) {
+                refreshTokenService.revokeAllForUser(id);
+            }
+        } else {
+            userCache.invalidate(id, oldEmail, updatedUser.getEmail());
+        }
         log.info("User updated successfully: {}", updatedUser.getEmail());
         
         return mapToDto(updatedUser);
@@ -117,10 +203,7 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
-        // Clear current roles
-        user.getRoles().clear();
-        
-        // Set new role
+        // Replace current roles with the new one
         Role.RoleName roleName;
         
         try {
@@ -130,12 +213,10 @@ public class UserService {
             roleName = Role.RoleName.ROLE_MEMBER;
         }
         
-        Role newRole = roleRepository.findByName(roleName)
-                .orElseThrow(() -> new ResourceNotFoundException("Error: Role is not found."));
-        
-        user.getRoles().add(newRole);
+        user.assignRole(roleCache.getRole(roleName));
         
         User updatedUser = userRepository.save(user);
+        userCache.invalidateAndRevokeTokens(id, updatedUser.getEmail());
         log.info("User role changed successfully for {}: {}", updatedUser.getEmail(), role);
         
         return mapToDto(updatedUser);
@@ -147,12 +228,13 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
         // Don't allow deletion of admin users
-        if (user.getRoles().stream()
-                .anyMatch(role -> role.getName() == Role.RoleName.ROLE_ADMIN)) {
+        if (user.resolvePrimaryRole() == Role.RoleName.ROLE_ADMIN) {
             throw new IllegalArgumentException("Admin users cannot be deleted");
         }
         
         userRepository.delete(user);
+        refreshTokenService.revokeAllForUser(id);
+        userCache.invalidateAndRevokeTokens(id, user.getEmail());
         log.info("User deleted successfully: {}", user.getEmail());
     }
     
@@ -163,14 +245,22 @@ public class UserService {
         
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        refreshTokenService.revokeAllForUser(id);
+        userCache.invalidateAndRevokeTokens(id, user.getEmail());
         log.info("Password reset successfully for user: {}", user.getEmail());
     }
     
+    private Role.RoleName parseRoleName(String role) {
+        try {
+            return Role.RoleName.valueOf("ROLE_" + role.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown role: " + role);
+        }
+    }
+    
     private UserDto mapToDto(User user) {
-        String roleName = user.getRoles().stream()
-                .map(role -> role.getName().name().replace("ROLE_", ""))
-                .findFirst()
-                .orElse("MEMBER");
+        Role.RoleName primaryRole = user.resolvePrimaryRole();
+        String roleName = primaryRole != null ? primaryRole.name().replace("ROLE_", "") : "MEMBER";
         
         return UserDto.builder()
                 .id(user.getId())
@@ -0,0 +1,32 @@
+-- Tables, columns and indexes added on top of the ddl-auto schema in V1
+
+ALTER TABLE users ADD COLUMN primary_role ENUM('ROLE_ADMIN', 'ROLE_MANAGER', 'ROLE_MEMBER');
+
+CREATE INDEX idx_users_name ON users (name);
+CREATE INDEX idx_users_primary_role ON users (primary_role);
+
+CREATE TABLE refresh_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    token_hash VARCHAR(64) NOT NULL,
+    user_id BIGINT NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    used_at DATETIME(6),
+    revoked_at DATETIME(6),
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash)
+);
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+CREATE TABLE jwt_signing_keys (
+    kid VARCHAR(36) NOT NULL,
+    algorithm VARCHAR(10) NOT NULL,
+    private_key VARCHAR(512) NOT NULL,
+    public_key VARCHAR(512) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (kid)
+);
@@ -0,0 +1,31 @@
+-- Roles, and the demo users on an empty database. Passwords are stored as
+-- precomputed BCrypt (strength 10) hashes so startup does no hashing.
+
+INSERT INTO roles (name)
+SELECT 'ROLE_ADMIN' FROM (SELECT 1) AS seed WHERE NOT EXISTS (SELECT 1 FROM roles WHERE name = 'ROLE_ADMIN');
+INSERT INTO roles (name)
+SELECT 'ROLE_MANAGER' FROM (SELECT 1) AS seed WHERE NOT EXISTS (SELECT 1 FROM roles WHERE name = 'ROLE_MANAGER');
+INSERT INTO roles (name)
+SELECT 'ROLE_MEMBER' FROM (SELECT 1) AS seed WHERE NOT EXISTS (SELECT 1 FROM roles WHERE name = 'ROLE_MEMBER');
+
+-- admin123 / manager123 / member123
+INSERT INTO users (name, email, password, primary_role, email_verified, account_locked, created_at, updated_at)
+SELECT seed.name, seed.email, seed.password, seed.primary_role, TRUE, FALSE, CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6)
+FROM (
+    SELECT 'Admin User' AS name, 'admin@example.com' AS email,
+           '$2a$10$rbzFd.XS9xUkjAV/mNdYJulttkgTjdwmUo3YMkxj/cbTDNn7/XTD2' AS password, 'ROLE_ADMIN' AS primary_role
+    UNION ALL
+    SELECT 'Manager User', 'manager@example.com',
+           '$2a$10$jjDT.COGN7wr5TtviPG5x.ITS5oLeN0VTFeF0OLup9Z6AuuLw3CmK', 'ROLE_MANAGER'
+    UNION ALL
+    SELECT 'Member User', 'member@example.com',
+           '$2a$10$/4k9kTeKxoeoiWF2vbCCD.BIlZzqX4XMSCXFFLHEU0x7q0PnebOfu', 'ROLE_MEMBER'
+) AS seed
+WHERE NOT EXISTS (SELECT 1 FROM users);
+
+INSERT INTO user_roles (user_id, role_id)
+SELECT u.id, r.id
+FROM users u
+JOIN roles r ON r.name = u.primary_role
+WHERE u.email IN ('admin@example.com', 'manager@example.com', 'member@example.com')
+  AND NOT EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id);
@@ -0,0 +1,9 @@
+-- Copy the role from user_roles for rows created before users.primary_role existed
+UPDATE users u
+SET primary_role = (
+    SELECT MIN(r.name)
+    FROM user_roles ur
+    JOIN roles r ON r.id = ur.role_id
+    WHERE ur.user_id = u.id
+)
+WHERE u.primary_role IS NULL;
@@ -0,0 +1,93 @@
+package com.taskmanagement.auth;
+
+import com.taskmanagement.auth.model.entity.Role;
+import com.taskmanagement.auth.model.entity.User;
+import com.taskmanagement.auth.repository.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against H2 in MySQL mode and reads the result back
+ * through the entities
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:auth_migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DatabaseMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void seedsRolesAndUsersWithPrecomputedHashes() {
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM roles", String.class))
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_MANAGER", "ROLE_MEMBER");
+
+        Map<String, Object> admin = jdbcTemplate.queryForMap(
+                "SELECT u.password, u.primary_role, r.name AS joined_role FROM users u "
+                        + "JOIN user_roles ur ON ur.user_id = u.id JOIN roles r ON r.id = ur.role_id "
+                        + "WHERE u.email = 'admin@example.com'");
+
+        assertThat(admin.get("primary_role")).isEqualTo("ROLE_ADMIN");
+        assertThat(admin.get("joined_role")).isEqualTo("ROLE_ADMIN");
+        assertThat(new BCryptPasswordEncoder().matches("admin123", (String) admin.get("password"))).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class)).isEqualTo(3);
+    }
+
+    @Test
+    void entitiesMapOntoMigratedSchema() {
+        User manager = userRepository.findByEmail("manager@example.com").orElseThrow();
+
+        assertThat(manager.getPrimaryRole()).isEqualTo(Role.RoleName.ROLE_MANAGER);
+        assertThat(manager.getRoles()).extracting(Role::getName).containsExactly(Role.RoleName.ROLE_MANAGER);
+        assertThat(manager.getEmailVerified()).isTrue();
+        assertThat(userRepository.countUsersByRole()).hasSize(3);
+    }
+
+    @Test
+    void adoptsDatabaseCreatedByDdlAutoBeforeMigrations() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:auth_pre_flyway;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // The schema and data the app had while hibernate.ddl-auto=update owned it
+        jdbc.execute("CREATE TABLE roles (id BIGINT NOT NULL AUTO_INCREMENT, "
+                + "name ENUM('ROLE_ADMIN', 'ROLE_MANAGER', 'ROLE_MEMBER') NOT NULL, PRIMARY KEY (id), UNIQUE (name))");
+        jdbc.execute("CREATE TABLE users (id BIGINT NOT NULL AUTO_INCREMENT, name VARCHAR(255) NOT NULL, "
+                + "email VARCHAR(255) NOT NULL, password VARCHAR(255) NOT NULL, email_verified BIT, account_locked BIT, "
+                + "created_at DATETIME(6), updated_at DATETIME(6), last_login_at DATETIME(6), PRIMARY KEY (id), UNIQUE (email))");
+        jdbc.execute("CREATE TABLE user_roles (user_id BIGINT NOT NULL, role_id BIGINT NOT NULL, PRIMARY KEY (role_id, user_id), "
+                + "FOREIGN KEY (user_id) REFERENCES users (id), FOREIGN KEY (role_id) REFERENCES roles (id))");
+        jdbc.update("INSERT INTO roles (name) VALUES ('ROLE_ADMIN'), ('ROLE_MANAGER'), ('ROLE_MEMBER')");
+        jdbc.update("INSERT INTO users (name, email, password, email_verified, account_locked) "
+                + "VALUES ('Old Manager', 'old.manager@example.com', 'hash', TRUE, FALSE)");
+        jdbc.update("INSERT INTO user_roles (user_id, role_id) SELECT u.id, r.id FROM users u, roles r WHERE r.name = 'ROLE_MANAGER'");
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertThat(jdbc.queryForMap("SELECT primary_role FROM users WHERE email = 'old.manager@example.com'"))
+                .containsEntry("primary_role", "ROLE_MANAGER");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM users", Long.class)).isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM refresh_tokens", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM jwt_signing_keys", Long.class)).isZero();
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskmanagement.auth.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of verifying one access token with each candidate signature algorithm.
+ * jjwt 0.11 has no EdDSA support, so the Ed25519 case verifies the same compact token
+ * with the JDK's Ed25519 provider and parses the claims with Jackson, which is what
+ * jjwt does around the signature check for the other two cases.
+ *
+ * Run with: mvn -pl auth-service test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.taskmanagement.auth.benchmark.JwtVerificationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final Base64.Decoder URL_DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JwtParser hs512Parser;
+    private String hs512Token;
+
+    private JwtParser es256Parser;
+    private String es256Token;
+
+    private KeyPair ed25519KeyPair;
+    private String ed25519Token;
+
+    @Setup
+    public void setUp() throws Exception {
+        Map<String, Object> claims = Map.of("id", 42L, "email", "jane@example.com", "name", "Jane", "role", "MEMBER");
+        Date expiry = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+
+        var hmacKey = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+        hs512Token = Jwts.builder().setClaims(claims).setSubject("jane@example.com").setExpiration(expiry)
+                .signWith(hmacKey, SignatureAlgorithm.HS512).compact();
+        hs512Parser = Jwts.parserBuilder().setSigningKey(hmacKey).build();
+
+        KeyPair ecKeyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        es256Token = Jwts.builder().setClaims(claims).setSubject("jane@example.com").setExpiration(expiry)
+                .signWith(ecKeyPair.getPrivate(), SignatureAlgorithm.ES256).compact();
+        es256Parser = Jwts.parserBuilder().setSigningKey(ecKeyPair.getPublic()).build();
+
+        ed25519KeyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"EdDSA\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(objectMapper.writeValueAsBytes(Map.of(
+                "id", 42L, "email", "jane@example.com", "name", "Jane", "role", "MEMBER",
+                "sub", "jane@example.com", "exp", expiry.getTime() / 1000)));
+        Signature signer = Signature.getInstance("Ed25519");
+        signer.initSign(ed25519KeyPair.getPrivate());
+        signer.update((header + "." + payload).getBytes(StandardCharsets.US_ASCII));
+        ed25519Token = header + "." + payload + "." + encoder.encodeToString(signer.sign());
+    }
+
+    @Benchmark
+    public Claims verifyHs512() {
+        return hs512Parser.parseClaimsJws(hs512Token).getBody();
+    }
+
+    @Benchmark
+    public Claims verifyEs256() {
+        return es256Parser.parseClaimsJws(es256Token).getBody();
+    }
+
+    @Benchmark
+    public Map<?, ?> verifyEd25519() throws Exception {
+        int lastDot = ed25519Token.lastIndexOf('.');
+        Signature verifier = Signature.getInstance("Ed25519");
+        verifier.initVerify(ed25519KeyPair.getPublic());
+        verifier.update(ed25519Token.substring(0, lastDot).getBytes(StandardCharsets.US_ASCII));
+        if (!verifier.verify(URL_DECODER.decode(ed25519Token.substring(lastDot + 1)))) {
+            throw new IllegalStateException("Invalid signature");
+        }
+        String payload = ed25519Token.substring(ed25519Token.indexOf('.') + 1, lastDot);
+        return objectMapper.readValue(URL_DECODER.decode(payload), Map.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
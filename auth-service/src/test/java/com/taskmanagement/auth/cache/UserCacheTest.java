@@ -0,0 +1,114 @@
+package com.taskmanagement.auth.cache;
+
+import com.taskmanagement.auth.model.dto.UserDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCacheTest {
+
+    private final LocalUserCacheInvalidationBus bus = new LocalUserCacheInvalidationBus();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final LocalDateTime storedLastLogin = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Test
+    void repeatedReadsAreServedFromCache() {
+        UserCache cache = cache();
+
+        cache.getById(7L, byId());
+        cache.getByEmail("jane@example.com", byEmail());
+        cache.getById(7L, byId());
+        cache.getByEmail("jane@example.com", byEmail());
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidationReachesEveryReplicaThroughTheBus() {
+        UserCache replica1 = cache();
+        UserCache replica2 = cache();
+        replica1.getById(7L, byId());
+        replica2.getById(7L, byId());
+        replica2.getByEmail("jane@example.com", byEmail());
+
+        replica1.invalidate(7L, "jane@example.com");
+        replica2.getById(7L, byId());
+        replica2.getByEmail("jane@example.com", byEmail());
+
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    void updatesAreVisibleWhateverTheCaseOfTheEmail() {
+        UserCache cache = cache();
+        cache.getByEmail("Jane@Example.com", byEmail());
+        cache.getByEmail(" JANE@example.com", byEmail());
+
+        cache.invalidate(7L, "jane@example.com");
+        cache.getByEmail("JANE@EXAMPLE.COM", byEmail());
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void tokenRevocationsArePublishedWithTheInvalidation() {
+        List<UserCacheInvalidation> published = new ArrayList<>();
+        bus.subscribe(invalidation -> {
+            throw new IllegalStateException("A failing listener does not stop the others");
+        });
+        bus.subscribe(published::add);
+
+        cache().invalidate(7L, "jane@example.com", null, "jane@example.com");
+        cache().invalidateAndRevokeTokens(7L, "jane@example.com");
+
+        assertThat(published).extracting(UserCacheInvalidation::getEmails)
+                .containsOnly(List.of("jane@example.com"));
+        assertThat(published.get(0).getTokensRevokedAt()).isNull();
+        assertThat(published.get(1).getTokensRevokedAt()).isNotNull();
+    }
+
+    @Test
+    void loginsUpdateCachedUsersWithoutReloadingThem() {
+        UserCache cache = cache();
+        cache.getById(7L, byId());
+        cache.getByEmail("jane@example.com", byEmail());
+
+        LocalDateTime login = storedLastLogin.plusHours(1);
+        cache.updateLastLogin(7L, "jane@example.com", login);
+        cache.updateLastLogin(7L, "jane@example.com", login.minusDays(1));
+
+        assertThat(cache.getById(7L, byId()).getLastLoginAt()).isEqualTo(login);
+        assertThat(cache.getByEmail("jane@example.com", byEmail()).getLastLoginAt()).isEqualTo(login);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private UserCache cache() {
+        return new UserCache(bus, new SimpleMeterRegistry(), 100, 300);
+    }
+
+    private Function<Long, UserDto> byId() {
+        return id -> load();
+    }
+
+    private Function<String, UserDto> byEmail() {
+        return email -> load();
+    }
+
+    private UserDto load() {
+        loads.incrementAndGet();
+        return UserDto.builder()
+                .id(7L)
+                .name("Jane")
+                .email("jane@example.com")
+                .role("MEMBER")
+                .lastLoginAt(storedLastLogin)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.taskmanagement.auth.repository;
+
+import com.taskmanagement.auth.model.entity.Role;
+import com.taskmanagement.auth.model.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false"
+})
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        Role admin = entityManager.persist(Role.builder().name(Role.RoleName.ROLE_ADMIN).build());
+        Role member = entityManager.persist(Role.builder().name(Role.RoleName.ROLE_MEMBER).build());
+
+        persistUser("Alice Admin", "alice@example.com", admin);
+        persistUser("Albert Member", "albert@example.com", member);
+        persistUser("Bob Member", "bob@example.com", member);
+        persistUser("Carol", "al_carol@example.com", member);
+        entityManager.flush();
+    }
+
+    @Test
+    void prefixSearchMatchesNameOrEmailAndEscapesWildcards() {
+        Page<User> page = userRepository.findAll(
+                UserSpecifications.nameOrEmailStartsWith("Bob"), PageRequest.of(0, 10, Sort.by("name")));
+
+        assertThat(page.getContent()).extracting(User::getName).containsExactly("Bob Member");
+
+        assertThat(userRepository.findAll(UserSpecifications.nameOrEmailStartsWith("al"), Sort.by("email")))
+                .extracting(User::getEmail)
+                .containsExactly("al_carol@example.com", "albert@example.com", "alice@example.com");
+
+        assertThat(userRepository.findAll(UserSpecifications.nameOrEmailStartsWith("al_")))
+                .extracting(User::getEmail)
+                .containsExactly("al_carol@example.com");
+    }
+
+    @Test
+    void roleFilterCombinesWithPaging() {
+        Page<User> page = userRepository.findAll(
+                UserSpecifications.hasRole(Role.RoleName.ROLE_MEMBER), PageRequest.of(0, 2, Sort.by("name")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(User::getName).containsExactly("Albert Member", "Bob Member");
+    }
+
+    @Test
+    void countsUsersByRole() {
+        Map<Role.RoleName, Long> counts = new HashMap<>();
+        for (Object[] row : userRepository.countUsersByRole()) {
+            counts.put((Role.RoleName) row[0], (Long) row[1]);
+        }
+
+        assertThat(counts).containsOnly(
+                Map.entry(Role.RoleName.ROLE_ADMIN, 1L),
+                Map.entry(Role.RoleName.ROLE_MEMBER, 3L));
+    }
+
+    private void persistUser(String name, String email, Role role) {
+        User user = User.builder()
+                .name(name)
+                .email(email)
+                .password("hash")
+                .build();
+        user.assignRole(role);
+        entityManager.persist(user);
+    }
+}
@@ -0,0 +1,42 @@
+package com.taskmanagement.auth.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver(List.of("127.0.0.0/8", "172.16.0.0/12"));
+
+    @Test
+    void skipsTrustedProxiesAndIgnoresWhatTheClientForged() {
+        // client -> nginx (172.18.0.5) -> gateway (172.18.0.6) -> auth-service
+        MockHttpServletRequest request = request("172.18.0.6", "203.0.113.9, 198.51.100.7, 172.18.0.5");
+
+        assertEquals("198.51.100.7", resolver.resolve(request));
+    }
+
+    @Test
+    void distinguishesClientsBehindTheSameProxies() {
+        assertEquals("198.51.100.7", resolver.resolve(request("172.18.0.6", "198.51.100.7, 172.18.0.5")));
+        assertEquals("198.51.100.8", resolver.resolve(request("172.18.0.6", "198.51.100.8, 172.18.0.5")));
+    }
+
+    @Test
+    void ignoresForwardedForFromUntrustedPeers() {
+        assertEquals("198.51.100.7", resolver.resolve(request("198.51.100.7", "10.1.2.3")));
+        assertEquals("172.18.0.6", resolver.resolve(request("172.18.0.6", null)));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
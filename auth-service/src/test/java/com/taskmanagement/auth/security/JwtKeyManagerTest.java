@@ -0,0 +1,102 @@
+package com.taskmanagement.auth.security;
+
+import com.taskmanagement.auth.model.entity.JwtSigningKey;
+import com.taskmanagement.auth.repository.JwtSigningKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtKeyManagerTest {
+
+    private final List<JwtSigningKey> storedKeys = new ArrayList<>();
+    private JwtSigningKeyRepository keyRepository;
+
+    @BeforeEach
+    void setUp() {
+        keyRepository = mock(JwtSigningKeyRepository.class);
+        when(keyRepository.save(any())).thenAnswer(invocation -> {
+            storedKeys.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(keyRepository.findAllByOrderByCreatedAtDesc()).thenAnswer(invocation -> storedKeys.stream()
+                .sorted(Comparator.comparing(JwtSigningKey::getCreatedAt).reversed())
+                .toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishedJwkRebuildsTheSamePublicKey() throws Exception {
+        JwtKeyManager keyManager = new JwtKeyManager(keyRepository, 604800000L, 900000L, 900000L, "");
+        keyManager.init();
+
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) keyManager.getJwks().get("keys");
+        assertEquals(1, keys.size());
+        Map<String, Object> jwk = keys.get(0);
+        assertEquals("ES256", jwk.get("alg"));
+
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECPoint point = new ECPoint(
+                new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("x"))),
+                new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("y"))));
+        PublicKey rebuilt = KeyFactory.getInstance("EC")
+                .generatePublic(new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+
+        assertEquals(keyManager.getPublicKey((String) jwk.get("kid")), rebuilt);
+    }
+
+    @Test
+    void rotatedKeyIsPublishedBeforeItSigns() {
+        new JwtKeyManager(keyRepository, 604800000L, 900000L, 900000L, "").init();
+        String firstKid = storedKeys.get(0).getKid();
+
+        // Another replica starts after the first key has outlived the rotation interval
+        storedKeys.get(0).setCreatedAt(LocalDateTime.now().minusDays(8));
+        JwtKeyManager keyManager = new JwtKeyManager(keyRepository, 604800000L, 900000L, 900000L, "");
+        keyManager.init();
+        keyManager.rotateAndReload();
+
+        assertEquals(2, ((List<?>) keyManager.getJwks().get("keys")).size());
+        assertEquals(firstKid, keyManager.getSigningKey().getKid());
+    }
+
+    @Test
+    void privateKeysAreStoredEncryptedWhenASecretIsSet() {
+        JwtKeyManager keyManager = new JwtKeyManager(keyRepository, 604800000L, 900000L, 900000L, "key-encryption-secret");
+        keyManager.init();
+        JwtSigningKey stored = storedKeys.get(0);
+
+        assertTrue(stored.getPrivateKey().startsWith("v1:"));
+        assertNotEquals(Base64.getEncoder().encodeToString(keyManager.getSigningKey().getPrivateKey().getEncoded()),
+                stored.getPrivateKey());
+
+        // Other replicas with the same secret sign with the stored key
+        JwtKeyManager replica = new JwtKeyManager(keyRepository, 604800000L, 900000L, 900000L, "key-encryption-secret");
+        replica.init();
+        assertEquals(keyManager.getSigningKey().getPrivateKey(), replica.getSigningKey().getPrivateKey());
+
+        // Without the secret the stored key is unusable
+        JwtKeyManager withoutSecret = new JwtKeyManager(keyRepository, 604800000L, 900000L, 900000L, "");
+        withoutSecret.init();
+        assertNotEquals(stored.getKid(), withoutSecret.getSigningKey().getKid());
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskmanagement.auth.security;
+
+import com.taskmanagement.auth.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LoginAttemptLimiter limiter(int ipMaxFailures, int lockAfterFailures) {
+        return new LoginAttemptLimiter(meterRegistry, 60_000, 1000, ipMaxFailures, 2, 10_000, 60_000, lockAfterFailures, 300_000);
+    }
+
+    @Test
+    void delaysAccountAfterRepeatedFailuresAndResetsOnSuccess() {
+        LoginAttemptLimiter limiter = limiter(100, 100);
+
+        limiter.recordFailure("10.0.0.1", "jane@example.com");
+        limiter.checkAllowed("10.0.0.1", "jane@example.com");
+        limiter.recordFailure("10.0.0.1", "Jane@Example.com");
+
+        TooManyLoginAttemptsException ex = assertThrows(TooManyLoginAttemptsException.class,
+                () -> limiter.checkAllowed("10.0.0.2", "jane@example.com"));
+        assertTrue(ex.getRetryAfterSeconds() > 0 && ex.getRetryAfterSeconds() <= 10);
+
+        limiter.recordSuccess("jane@example.com");
+        limiter.checkAllowed("10.0.0.2", "jane@example.com");
+        assertEquals(1.0, meterRegistry.get("auth.login.limiter.decisions").tag("decision", "account_delayed").counter().count());
+    }
+
+    @Test
+    void locksAccountAfterTooManyFailures() {
+        LoginAttemptLimiter limiter = limiter(100, 3);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.recordFailure("10.0.0.1", "jane@example.com");
+        }
+
+        TooManyLoginAttemptsException ex = assertThrows(TooManyLoginAttemptsException.class,
+                () -> limiter.checkAllowed("10.0.0.1", "jane@example.com"));
+        assertTrue(ex.getMessage().contains("locked"));
+        assertTrue(ex.getRetryAfterSeconds() > 60);
+    }
+
+    @Test
+    void blocksIpAcrossAccounts() {
+        LoginAttemptLimiter limiter = limiter(3, 100);
+
+        limiter.recordFailure("10.0.0.1", "a@example.com");
+        limiter.recordFailure("10.0.0.1", "b@example.com");
+        limiter.recordFailure("10.0.0.1", "c@example.com");
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> limiter.checkAllowed("10.0.0.1", "d@example.com"));
+        limiter.checkAllowed("10.0.0.2", "d@example.com");
+    }
+
+    @Test
+    void slidingWindowForgetsOldBuckets() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+
+        counter.increment(10_000);
+        counter.increment(10_500);
+        assertEquals(2, counter.count(10_900));
+        assertEquals(1, counter.count(11_050));
+        assertEquals(0, counter.count(11_600));
+    }
+}
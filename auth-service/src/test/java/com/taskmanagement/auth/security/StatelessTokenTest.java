@@ -0,0 +1,107 @@
+package com.taskmanagement.auth.security;
+
+import com.taskmanagement.auth.cache.LocalUserCacheInvalidationBus;
+import com.taskmanagement.auth.cache.UserCacheInvalidation;
+import com.taskmanagement.auth.model.entity.JwtSigningKey;
+import com.taskmanagement.auth.repository.JwtSigningKeyRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatelessTokenTest {
+
+    private static final long EXPIRATION_MS = 60_000;
+
+    private JwtUtil jwtUtil;
+    private LocalUserCacheInvalidationBus bus;
+    private TokenRevocationStore revocationStore;
+
+    @BeforeEach
+    void setUp() {
+        List<JwtSigningKey> storedKeys = new ArrayList<>();
+        JwtSigningKeyRepository keyRepository = mock(JwtSigningKeyRepository.class);
+        when(keyRepository.save(any())).thenAnswer(invocation -> {
+            storedKeys.add(0, invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(keyRepository.findAllByOrderByCreatedAtDesc()).thenAnswer(invocation -> List.copyOf(storedKeys));
+        JwtKeyManager keyManager = new JwtKeyManager(keyRepository, 604800000L, 900000L, EXPIRATION_MS, "");
+        keyManager.init();
+
+        jwtUtil = new JwtUtil(keyManager);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", EXPIRATION_MS);
+        ReflectionTestUtils.setField(jwtUtil, "issuer", "taskmanagement");
+        jwtUtil.init();
+
+        bus = new LocalUserCacheInvalidationBus();
+        revocationStore = new TokenRevocationStore(bus, new SimpleMeterRegistry(), EXPIRATION_MS);
+    }
+
+    @Test
+    void principalIsBuiltFromVerifiedClaims() {
+        Claims claims = jwtUtil.parseValidClaims(jwtUtil.generateToken(user()));
+
+        UserDetailsImpl principal = UserDetailsImpl.fromClaims(claims);
+
+        assertEquals(7L, principal.getId());
+        assertEquals("jane@example.com", principal.getUsername());
+        assertEquals("Jane", principal.getName());
+        assertEquals("MANAGER", principal.getMainRole());
+        assertTrue(principal.isEnabled());
+        assertTrue(principal.isAccountNonLocked());
+        assertNull(jwtUtil.parseValidClaims("not-a-token"));
+    }
+
+    @Test
+    void tokensIssuedBeforeRevocationAreRejected() {
+        Claims claims = jwtUtil.parseValidClaims(jwtUtil.generateToken(user()));
+        assertFalse(revocationStore.isRevoked(7L, JwtUtil.issuedAtMillis(claims)));
+
+        bus.publish(new UserCacheInvalidation(7L, List.of("jane@example.com"), System.currentTimeMillis()));
+
+        assertTrue(revocationStore.isRevoked(7L, JwtUtil.issuedAtMillis(claims)));
+        assertFalse(revocationStore.isRevoked(8L, JwtUtil.issuedAtMillis(claims)));
+    }
+
+    @Test
+    void tokensIssuedInTheSameSecondAfterRevocationAreAccepted() throws InterruptedException {
+        long second = System.currentTimeMillis() / 1000 * 1000 - 1000;
+        bus.publish(new UserCacheInvalidation(7L, List.of("jane@example.com"), second + 500));
+
+        assertTrue(revocationStore.isRevoked(7L, second + 500));
+        assertFalse(revocationStore.isRevoked(7L, second + 501));
+        // Tokens without iatMillis are only known to be from before the revocation once their second is over
+        assertFalse(revocationStore.isRevoked(7L, JwtUtil.issuedAtMillis(Jwts.claims().setIssuedAt(new Date(second)))));
+        assertTrue(revocationStore.isRevoked(7L, JwtUtil.issuedAtMillis(Jwts.claims().setIssuedAt(new Date(second - 1000)))));
+
+        // A login right after logging out everywhere
+        bus.publish(new UserCacheInvalidation(7L, List.of("jane@example.com"), System.currentTimeMillis()));
+        Thread.sleep(2);
+        Claims claims = jwtUtil.parseValidClaims(jwtUtil.generateToken(user()));
+        assertFalse(revocationStore.isRevoked(7L, JwtUtil.issuedAtMillis(claims)));
+    }
+
+    private UserDetailsImpl user() {
+        return UserDetailsImpl.builder()
+                .id(7L)
+                .name("Jane")
+                .email("jane@example.com")
+                .emailVerified(true)
+                .accountLocked(false)
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_MANAGER")))
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmanagement.auth.service;
+
+import com.taskmanagement.auth.cache.UserCache;
+import com.taskmanagement.auth.model.entity.User;
+import com.taskmanagement.auth.repository.UserJdbcRepository;
+import com.taskmanagement.auth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false"
+})
+@Import(UserJdbcRepository.class)
+class LoginActivityRecorderTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private UserCache userCache;
+
+    @Test
+    void coalescesLoginsAndWritesLatestInOneFlush() {
+        User user = userRepository.saveAndFlush(User.builder()
+                .name("Jane")
+                .email("jane@example.com")
+                .password("hash")
+                .emailVerified(true)
+                .accountLocked(false)
+                .build());
+        LoginActivityRecorder recorder = new LoginActivityRecorder(userJdbcRepository, userCache, new SimpleMeterRegistry());
+
+        LocalDateTime first = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        recorder.recordLogin(user.getId(), user.getEmail(), first.plusMinutes(1));
+        recorder.recordLogin(user.getId(), user.getEmail(), first);
+        recorder.flush();
+
+        entityManager.clear();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getLastLoginAt()).isEqualTo(first.plusMinutes(1));
+        verify(userCache).updateLastLogin(user.getId(), user.getEmail(), first.plusMinutes(1));
+
+        // An older login never moves the column backwards
+        recorder.recordLogin(user.getId(), user.getEmail(), first.minusDays(1));
+        recorder.flush();
+        entityManager.clear();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getLastLoginAt()).isEqualTo(first.plusMinutes(1));
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmanagement.auth.service;
+
+import com.taskmanagement.auth.cache.UserCache;
+import com.taskmanagement.auth.exception.TokenRefreshException;
+import com.taskmanagement.auth.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "app.jwt.refresh-expiration=60000"
+})
+@Import(RefreshTokenService.class)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @MockBean
+    private UserCache userCache;
+
+    @Test
+    void rotationIssuesNewTokenAndStoresOnlyHashes() {
+        String first = refreshTokenService.issue(1L);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+        assertThat(rotation.getUserId()).isEqualTo(1L);
+        assertThat(rotation.getRefreshToken()).isNotEqualTo(first);
+        assertThat(refreshTokenRepository.findAll())
+                .hasSize(2)
+                .allSatisfy(token -> assertThat(token.getTokenHash()).hasSize(64).isNotIn(first, rotation.getRefreshToken()));
+    }
+
+    @Test
+    void reusingRotatedTokenRevokesWholeFamily() {
+        String first = refreshTokenService.issue(1L);
+        String second = refreshTokenService.rotate(first).getRefreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(first))
+                .isInstanceOf(TokenRefreshException.class)
+                .hasMessageContaining("already been used");
+        verify(userCache).invalidateAndRevokeTokens(1L);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(second))
+                .isInstanceOf(TokenRefreshException.class)
+                .hasMessageContaining("revoked");
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThatThrownBy(() -> refreshTokenService.rotate("not-a-token"))
+                .isInstanceOf(TokenRefreshException.class);
+    }
+}
@@ -0,0 +1,159 @@
+package com.taskmanagement.auth.service;
+
+import com.taskmanagement.auth.model.dto.BulkUserResult;
+import com.taskmanagement.auth.model.dto.CreateUserRequest;
+import com.taskmanagement.auth.model.entity.Role;
+import com.taskmanagement.auth.model.entity.User;
+import com.taskmanagement.auth.repository.UserJdbcRepository;
+import com.taskmanagement.auth.repository.UserRepository;
+import com.taskmanagement.auth.security.PasswordHashingExecutor;
+import com.taskmanagement.auth.security.PooledPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:auth_provisioning;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserProvisioningService.class, UserJdbcRepository.class, UserProvisioningServiceTest.Config.class})
+class UserProvisioningServiceTest {
+
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        PooledPasswordEncoder passwordEncoder() {
+            return new PooledPasswordEncoder(new BCryptPasswordEncoder(4),
+                    new PasswordHashingExecutor(new SimpleMeterRegistry(), 2, 4, 5000));
+        }
+
+        @Bean
+        LocalValidatorFactoryBean validator() {
+            return new LocalValidatorFactoryBean();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (Role.RoleName roleName : Role.RoleName.values()) {
+            entityManager.persist(Role.builder().name(roleName).build());
+        }
+        User existing = User.builder()
+                .name("Existing User")
+                .email("existing@example.com")
+                .password("hash")
+                .emailVerified(true)
+                .accountLocked(false)
+                .build();
+        existing.assignRole(entityManager.createQuery("SELECT r FROM Role r WHERE r.name = :name", Role.class)
+                .setParameter("name", Role.RoleName.ROLE_MEMBER)
+                .getSingleResult());
+        entityManager.persist(existing);
+        entityManager.flush();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createsValidRowsAndReportsFailuresPerRow() {
+        List<CreateUserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(request("user" + i + "@example.com", i % 2 == 0 ? "manager" : null));
+        }
+        requests.add(request("existing@example.com", "member"));
+        requests.add(request("USER0@example.com", "member"));
+        requests.add(request("not-an-email", "member"));
+        requests.add(request("owner@example.com", "owner"));
+
+        Map<String, Object> response = userProvisioningService.createUsers(requests);
+
+        assertThat(response).containsEntry("created", 20L).containsEntry("failed", 4L);
+        List<BulkUserResult> results = (List<BulkUserResult>) response.get("results");
+        assertThat(results).hasSize(24);
+        assertThat(results.subList(0, 20)).allSatisfy(result ->
+                assertThat(result.getStatus()).isEqualTo(BulkUserResult.Status.CREATED));
+        assertThat(results.subList(20, 24)).extracting(BulkUserResult::getError).containsExactly(
+                "Email is already taken!", "Duplicate email in request", "Please provide a valid email address",
+                "Invalid role: owner");
+        assertThat(userRepository.findByEmail("owner@example.com")).isEmpty();
+
+        entityManager.clear();
+        User manager = userRepository.findByEmail("user0@example.com").orElseThrow();
+        assertThat(results.get(0).getUserId()).isEqualTo(manager.getId());
+        assertThat(manager.getPrimaryRole()).isEqualTo(Role.RoleName.ROLE_MANAGER);
+        assertThat(manager.getRoles()).extracting(Role::getName).containsExactly(Role.RoleName.ROLE_MANAGER);
+        assertThat(new BCryptPasswordEncoder().matches("secret123", manager.getPassword())).isTrue();
+        assertThat(userRepository.findByEmail("user1@example.com").orElseThrow().getPrimaryRole())
+                .isEqualTo(Role.RoleName.ROLE_MEMBER);
+    }
+
+    @Test
+    void emailsTakenAfterTheCheckAreLeftOut() {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = List.of(user("fresh@example.com", now), user("existing@example.com", now));
+
+        Map<String, Long> ids = userJdbcRepository.insertUsers(users);
+
+        entityManager.clear();
+        assertThat(ids).containsOnlyKeys("fresh@example.com");
+        User existing = userRepository.findByEmail("existing@example.com").orElseThrow();
+        assertThat(existing.getPassword()).isEqualTo("hash");
+        assertThat(existing.getRoles()).extracting(Role::getName).containsExactly(Role.RoleName.ROLE_MEMBER);
+    }
+
+    private static User user(String email, LocalDateTime now) {
+        return User.builder()
+                .name("Bulk User")
+                .email(email)
+                .password("hash-of-" + email)
+                .primaryRole(Role.RoleName.ROLE_MANAGER)
+                .emailVerified(true)
+                .accountLocked(false)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private CreateUserRequest request(String email, String role) {
+        return CreateUserRequest.builder()
+                .name("Bulk User")
+                .email(email)
+                .password("secret123")
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskmanagement.auth.service;
+
+import com.taskmanagement.auth.cache.RoleCache;
+import com.taskmanagement.auth.cache.UserCache;
+import com.taskmanagement.auth.model.dto.UserDto;
+import com.taskmanagement.auth.model.entity.Role;
+import com.taskmanagement.auth.model.entity.User;
+import com.taskmanagement.auth.security.UserDetailsServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false"
+})
+@Import({UserService.class, UserDetailsServiceImpl.class})
+class UserQueryCountTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private UserCache userCache;
+
+    @MockBean
+    private RoleCache roleCache;
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    private Statistics statistics;
+    private Role managerRole;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        managerRole = Role.builder().name(Role.RoleName.ROLE_MANAGER).build();
+        entityManager.persist(managerRole);
+    }
+
+    @Test
+    void getAllUsersUsesSingleQuery() {
+        createUsers(3);
+        long queriesForFewUsers = countQueries(() -> assertThat(userService.getAllUsers()).hasSize(3));
+
+        createUsers(20);
+        long queriesForManyUsers = countQueries(() -> assertThat(userService.getAllUsers())
+                .hasSize(23)
+                .extracting(UserDto::getRole)
+                .containsOnly("MANAGER"));
+
+        assertThat(queriesForFewUsers).isEqualTo(1);
+        assertThat(queriesForManyUsers).isEqualTo(queriesForFewUsers);
+    }
+
+    @Test
+    void loginLoadsUserWithSingleQuery() {
+        createUsers(1);
+
+        long queries = countQueries(() -> {
+            UserDetails user = userDetailsService.loadUserByUsername("user0@example.com");
+            assertThat(user.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_MANAGER");
+        });
+
+        assertThat(queries).isEqualTo(1);
+    }
+
+    private void createUsers(int count) {
+        long existing = (Long) entityManager.createQuery("SELECT COUNT(u) FROM User u").getSingleResult();
+        for (long i = existing; i < existing + count; i++) {
+            User user = User.builder()
+                    .name("User " + i)
+                    .email("user" + i + "@example.com")
+                    .password("hash")
+                    .emailVerified(true)
+                    .accountLocked(false)
+                    .build();
+            user.assignRole(managerRole);
+            entityManager.persist(user);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countQueries(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,157 @@
+package com.taskmanagement.auth.service;
+
+import com.taskmanagement.auth.cache.LocalUserCacheInvalidationBus;
+import com.taskmanagement.auth.cache.RoleCache;
+import com.taskmanagement.auth.cache.UserCache;
+import com.taskmanagement.auth.exception.ResourceNotFoundException;
+import com.taskmanagement.auth.model.dto.UserDto;
+import com.taskmanagement.auth.model.entity.Role;
+import com.taskmanagement.auth.model.entity.User;
+import com.taskmanagement.auth.repository.RoleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false"
+})
+@Import({UserService.class, UserCache.class, UserServiceCacheTest.CacheTestConfig.class})
+class UserServiceCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    // Mocked since the real one would keep roles persisted by earlier, rolled back tests
+    @MockBean
+    private RoleCache roleCache;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @TestConfiguration
+    static class CacheTestConfig {
+
+        @Bean
+        LocalUserCacheInvalidationBus userCacheInvalidationBus() {
+            return new LocalUserCacheInvalidationBus();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        Role member = Role.builder().name(Role.RoleName.ROLE_MEMBER).build();
+        entityManager.persist(member);
+        Role manager = Role.builder().name(Role.RoleName.ROLE_MANAGER).build();
+        entityManager.persist(manager);
+        when(roleCache.getRole(Role.RoleName.ROLE_MANAGER)).thenReturn(manager);
+
+        User user = User.builder()
+                .name("Jane")
+                .email("jane@example.com")
+                .password("hash")
+                .emailVerified(true)
+                .accountLocked(false)
+                .build();
+        user.assignRole(member);
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+    }
+
+    @Test
+    void repeatedReadsDoNotQueryTheDatabase() {
+        assertThat(countQueries(() -> userService.getUserById(userId))).isPositive();
+        assertThat(countQueries(() -> userService.getUserById(userId))).isZero();
+
+        assertThat(countQueries(() -> userService.getUserByEmail("jane@example.com"))).isPositive();
+        assertThat(countQueries(() -> userService.getUserByEmail("jane@example.com"))).isZero();
+    }
+
+    @Test
+    void updatesAreVisibleOnTheNextRead() {
+        userService.getUserById(userId);
+        userService.getUserByEmail("jane@example.com");
+
+        userService.updateUser(userId, UserDto.builder().name("Jane Doe").email("jane.doe@example.com").build());
+
+        assertThat(userService.getUserById(userId).getEmail()).isEqualTo("jane.doe@example.com");
+        assertThatThrownBy(() -> userService.getUserByEmail("jane@example.com"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void roleChangesAreVisibleOnTheNextRead() {
+        assertThat(userService.getUserById(userId).getRole()).isEqualTo("MEMBER");
+
+        userService.changeUserRole(userId, "manager");
+        entityManager.flush();
+
+        assertThat(userService.getUserById(userId).getRole()).isEqualTo("MANAGER");
+    }
+
+    @Test
+    void deletedUsersAreNotServedFromCache() {
+        userService.getUserById(userId);
+
+        userService.deleteUser(userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThatThrownBy(() -> userService.getUserById(userId)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void rolesAreReadOnce() {
+        RoleCache roleCache = new RoleCache(roleRepository);
+
+        assertThat(countQueries(() -> roleCache.getRole(Role.RoleName.ROLE_MANAGER))).isEqualTo(1);
+        assertThat(countQueries(() -> roleCache.getRole(Role.RoleName.ROLE_MANAGER))).isZero();
+        assertThatThrownBy(() -> roleCache.getRole(Role.RoleName.ROLE_ADMIN)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private long countQueries(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
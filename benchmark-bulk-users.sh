@@ -0,0 +1,32 @@
+#!/bin/bash
+# Measures how long POST /api/users/bulk takes to provision a batch of new users.
+# Each run uses a fresh email prefix, so it can be repeated against the same database.
+# Usage: ./benchmark-bulk-users.sh [users]
+
+AUTH_URL=${AUTH_URL:-http://localhost:8081}
+EMAIL=${EMAIL:-admin@example.com}
+PASSWORD=${PASSWORD:-admin123}
+USERS=${1:-1000}
+PREFIX="bulk$(date +%s)"
+
+TOKEN=$(curl -s -X POST "$AUTH_URL/api/auth/login" \
+  -H "Content-Type: application/json" \
+  -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" | grep -o '"token":"[^"]*' | cut -d'"' -f4)
+
+if [ -z "$TOKEN" ]; then
+  echo "Login failed for $EMAIL"
+  exit 1
+fi
+
+BODY=$(seq 1 "$USERS" | awk -v prefix="$PREFIX" \
+  'BEGIN { printf "[" } { if (NR > 1) printf ","; printf "{\"name\":\"Bulk User %d\",\"email\":\"%s-%d@example.com\",\"password\":\"changeme123\",\"role\":\"member\"}", $1, prefix, $1 } END { printf "]" }')
+
+echo "=== Provisioning $USERS users with POST /api/users/bulk ==="
+RESPONSE=$(curl -s -w "\n%{time_total}" -X POST "$AUTH_URL/api/users/bulk" \
+  -H "Authorization: Bearer $TOKEN" \
+  -H "Content-Type: application/json" \
+  -d "$BODY")
+
+echo "Created: $(echo "$RESPONSE" | head -1 | grep -o '"created":[0-9]*' | cut -d: -f2)"
+echo "Failed:  $(echo "$RESPONSE" | head -1 | grep -o '"failed":[0-9]*' | cut -d: -f2)"
+echo "Time:    $(echo "$RESPONSE" | tail -1)s"
@@ -0,0 +1,34 @@
+#!/bin/bash
+# Measures the per-request cost of routing through the API gateway.
+# Compares the same actuator health check called directly on project-service and through the
+# gateway's project-health route, plus a path no route matches, which only exercises route lookup.
+# Usage: ./benchmark-gateway-routing.sh [requests] [concurrency]
+
+GATEWAY_URL=${GATEWAY_URL:-http://localhost:8080}
+PROJECT_URL=${PROJECT_URL:-http://localhost:8082}
+REQUESTS=${1:-10000}
+CONCURRENCY=${2:-50}
+
+run() {
+  local name=$1
+  local url=$2
+  echo "=== $name: GET $url ($REQUESTS requests, concurrency $CONCURRENCY) ==="
+  if command -v hey > /dev/null; then
+    hey -n "$REQUESTS" -c "$CONCURRENCY" "$url" | grep -E "Requests/sec|Average|50%|99%|\[[0-9]+\]"
+  elif command -v ab > /dev/null; then
+    ab -n "$REQUESTS" -c "$CONCURRENCY" "$url" | grep -E "Requests per second|Time per request|Non-2xx|Failed requests"
+  else
+    echo "Neither hey nor ab is installed"
+    exit 1
+  fi
+}
+
+# Warm up both paths so JIT compilation and connection pools do not skew the first run
+curl -s -o /dev/null "$PROJECT_URL/actuator/health"
+curl -s -o /dev/null "$GATEWAY_URL/api/projects/health"
+
+run "Direct" "$PROJECT_URL/actuator/health"
+run "Through gateway" "$GATEWAY_URL/api/projects/health"
+run "Gateway, no matching route" "$GATEWAY_URL/api/unknown/resource"
+
+echo "Routing overhead per request is the difference in average latency between the first two runs"
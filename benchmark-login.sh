@@ -0,0 +1,25 @@
+#!/bin/bash
+# Measures logins per second per core against the auth service.
+# Compare runs with different app.security.bcrypt.strength / app.security.hashing.* settings;
+# once the hashing pool is saturated, excess requests are shed with 503 rather than queued.
+# Usage: ./benchmark-login.sh [requests] [concurrency]
+
+AUTH_URL=${AUTH_URL:-http://localhost:8081}
+EMAIL=${EMAIL:-admin@example.com}
+PASSWORD=${PASSWORD:-admin123}
+REQUESTS=${1:-2000}
+CONCURRENCY=${2:-50}
+CORES=${CORES:-$(nproc)}
+BODY="{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}"
+
+if ! command -v hey > /dev/null; then
+  echo "hey is required: go install github.com/rakyll/hey@latest"
+  exit 1
+fi
+
+echo "=== Benchmarking POST /api/auth/login ($REQUESTS requests, concurrency $CONCURRENCY, $CORES cores) ==="
+OUTPUT=$(hey -n "$REQUESTS" -c "$CONCURRENCY" -m POST -T "application/json" -d "$BODY" "$AUTH_URL/api/auth/login")
+echo "$OUTPUT" | grep -E "Requests/sec|Average|99%|\[[0-9]{3}\]"
+
+RPS=$(echo "$OUTPUT" | grep "Requests/sec" | awk '{print $2}')
+echo "Logins per second per core: $(echo "scale=2; $RPS / $CORES" | bc)"
@@ -0,0 +1,33 @@
+#!/bin/bash
+# Measures requests per second on GET /api/users/{id} against the auth service.
+# Run once with JWT_STATELESS=true and once with JWT_STATELESS=false on auth-service
+# to compare the stateless token path with the per-request user reload.
+# Usage: ./benchmark-user-lookup.sh [requests] [concurrency]
+
+AUTH_URL=${AUTH_URL:-http://localhost:8081}
+EMAIL=${EMAIL:-admin@example.com}
+PASSWORD=${PASSWORD:-admin123}
+REQUESTS=${1:-10000}
+CONCURRENCY=${2:-50}
+
+echo "=== Logging in as $EMAIL ==="
+LOGIN_RESPONSE=$(curl -s -X POST "$AUTH_URL/api/auth/login" \
+  -H "Content-Type: application/json" \
+  -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}")
+TOKEN=$(echo "$LOGIN_RESPONSE" | grep -o '"token":"[^"]*' | cut -d'"' -f4)
+USER_ID=$(echo "$LOGIN_RESPONSE" | grep -o '"id":[0-9]*' | head -1 | cut -d':' -f2)
+
+if [ -z "$TOKEN" ]; then
+  echo "Login failed: $LOGIN_RESPONSE"
+  exit 1
+fi
+
+echo "=== Benchmarking GET /api/users/$USER_ID ($REQUESTS requests, concurrency $CONCURRENCY) ==="
+if command -v hey > /dev/null; then
+  hey -n "$REQUESTS" -c "$CONCURRENCY" -H "Authorization: Bearer $TOKEN" "$AUTH_URL/api/users/$USER_ID"
+elif command -v ab > /dev/null; then
+  ab -n "$REQUESTS" -c "$CONCURRENCY" -H "Authorization: Bearer $TOKEN" "$AUTH_URL/api/users/$USER_ID" | grep -E "Requests per second|Time per request|Failed requests"
+else
+  echo "Neither hey nor ab is installed"
+  exit 1
+fi
@@ -0,0 +1,189 @@
+package com.taskmanagement.project.client;
+
+import com.taskmanagement.project.exception.ResourceNotFoundException;
+import com.taskmanagement.project.model.dto.UserDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces concurrent single-user lookups into batch calls to the auth service: lookups
+ * made while a call for the same Authorization header is in flight are sent together as
+ * one POST /api/users/batch when it returns. A lone lookup is sent at once.
+ */
+@Component
+@Slf4j
+public class UserBatchLoader {
+
+    // Matches the per-request limit of POST /api/users/batch
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    private final AuthServiceClient authServiceClient;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public UserBatchLoader(AuthServiceClient authServiceClient,
+                           @Value("${service.auth-service.batch.max-size:100}") int maxBatchSize,
+                           @Value("${service.auth-service.batch.timeout-ms:5000}") long timeoutMillis,
+                           @Value("${service.auth-service.batch.threads:4}") int threads) {
+        this.authServiceClient = authServiceClient;
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-batch-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Load a single user, waiting for the batch it was coalesced into
+     * @throws ResourceNotFoundException if the user does not exist
+     */
+    public UserDto load(String authHeader, Long userId) {
+        try {
+            return enqueue(authHeader, userId).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("User lookup failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for user lookup: " + userId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for user lookup: " + userId, e);
+        }
+    }
+
+    /**
+     * Load many users directly in chunks of up to 1000 ids, bypassing the coalescing.
+     * Ids that do not exist are left out of the returned map.
+     */
+    public Map<Long, UserDto> loadAll(String authHeader, Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        Map<Long, UserDto> users = new HashMap<>();
+
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            for (UserDto user : authServiceClient.getUsersByIds(authHeader, chunk)) {
+                users.put(user.getId(), user);
+            }
+        }
+
+        return users;
+    }
+
+    private CompletableFuture<UserDto> enqueue(String authHeader, Long userId) {
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(authHeader, Lane::new);
+            CompletableFuture<UserDto> future = lane.add(userId);
+            if (future != null) {
+                return future;
+            }
+            // The lane went idle between lookup and add; retry with a fresh one
+            lanes.remove(authHeader, lane);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Lookups of one caller: at most one batch call in flight, the rest waiting for it
+     */
+    private class Lane {
+
+        private final String authHeader;
+        private final Map<Long, List<CompletableFuture<UserDto>>> waiters = new HashMap<>();
+        private boolean inFlight;
+        private boolean closed;
+
+        Lane(String authHeader) {
+            this.authHeader = authHeader;
+        }
+
+        synchronized CompletableFuture<UserDto> add(Long userId) {
+            if (closed) {
+                return null;
+            }
+
+            CompletableFuture<UserDto> future = new CompletableFuture<>();
+            waiters.computeIfAbsent(userId, id -> new ArrayList<>()).add(future);
+
+            if (!inFlight) {
+                inFlight = true;
+                executor.execute(this::drain);
+            }
+
+            return future;
+        }
+
+        void drain() {
+            while (true) {
+                Map<Long, List<CompletableFuture<UserDto>>> requested = new HashMap<>();
+                synchronized (this) {
+                    if (waiters.isEmpty()) {
+                        inFlight = false;
+                        closed = true;
+                        lanes.remove(authHeader, this);
+                        return;
+                    }
+                    Iterator<Map.Entry<Long, List<CompletableFuture<UserDto>>>> waiting = waiters.entrySet().iterator();
+                    while (waiting.hasNext() && requested.size() < maxBatchSize) {
+                        Map.Entry<Long, List<CompletableFuture<UserDto>>> entry = waiting.next();
+                        requested.put(entry.getKey(), entry.getValue());
+                        waiting.remove();
+                    }
+                }
+                dispatch(requested);
+            }
+        }
+
+        private void dispatch(Map<Long, List<CompletableFuture<UserDto>>> requested) {
+            try {
+                Map<Long, UserDto> users = new HashMap<>();
+                for (UserDto user : authServiceClient.getUsersByIds(authHeader, new ArrayList<>(requested.keySet()))) {
+                    users.put(user.getId(), user);
+                }
+                log.debug("Resolved {} user lookups with one batch call", requested.size());
+
+                requested.forEach((userId, futures) -> {
+                    UserDto user = users.get(userId);
+                    for (CompletableFuture<UserDto> future : futures) {
+                        if (user != null) {
+                            future.complete(user);
+                        } else {
+                            future.completeExceptionally(new ResourceNotFoundException("User not found with id: " + userId));
+                        }
+                    }
+                });
+            } catch (Exception e) {
+                log.error("Batch user lookup failed: {}", e.getMessage());
+                requested.values().forEach(futures -> futures.forEach(future -> future.completeExceptionally(e)));
+            }
+        }
+    }
+}
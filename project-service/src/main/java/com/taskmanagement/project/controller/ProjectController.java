@@ -6,10 +6,14 @@ import com.taskmanagement.project.service.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +23,10 @@ import java.util.Map;
 @Slf4j
 public class ProjectController {
 
+    // Per-user copies stay fresh briefly; the gateway drops its copy on any write through the route,
+    // and a stale copy is revalidated by ETag
+    private static final CacheControl ENTITY_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate().mustRevalidate();
+
     private final ProjectService projectService;
 
     @GetMapping
@@ -27,10 +35,35 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.getAllProjects());
     }
 
+    @GetMapping("/query")
+    public ResponseEntity<Map<String, Object>> queryProjects(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateTo,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        ProjectStatus projectStatus = null;
+        if (status != null) {
+            try {
+                projectStatus = ProjectStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid status: {}", status);
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        
+        log.info("Request to query projects with status: {}, end date between {} and {}, name prefix: {}, after id: {}",
+                projectStatus, endDateFrom, endDateTo, namePrefix, afterId);
+        return ResponseEntity.ok(projectService.queryProjects(
+                userId, projectStatus, endDateFrom, endDateTo, namePrefix, afterId, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProjectDto> getProjectById(@PathVariable Long id) {
         log.info("Request to get project by id: {}", id);
-        return ResponseEntity.ok(projectService.getProjectById(id));
+        return ResponseEntity.ok().cacheControl(ENTITY_CACHE_CONTROL).body(projectService.getProjectById(id));
     }
 
     @PostMapping
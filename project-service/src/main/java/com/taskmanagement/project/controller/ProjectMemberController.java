@@ -1,5 +1,6 @@
 package com.taskmanagement.project.controller;
 
+import com.taskmanagement.project.model.dto.BulkMemberResultDto;
 import com.taskmanagement.project.model.dto.ProjectMemberDto;
 import com.taskmanagement.project.model.entity.ProjectMember.ProjectRole;
 import com.taskmanagement.project.service.ProjectMemberService;
@@ -34,6 +35,14 @@ public class ProjectMemberController {
         return ResponseEntity.ok(projectMemberService.addProjectMember(projectId, memberDto));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkMemberResultDto>> addProjectMembers(
+            @PathVariable Long projectId,
+            @RequestBody List<ProjectMemberDto> memberDtos) {
+        log.info("Request to add {} members to project with id: {}", memberDtos.size(), projectId);
+        return ResponseEntity.ok(projectMemberService.addProjectMembers(projectId, memberDtos));
+    }
+
     @PatchMapping("/{userId}/role")
     public ResponseEntity<ProjectMemberDto> updateProjectMemberRole(
             @PathVariable Long projectId,
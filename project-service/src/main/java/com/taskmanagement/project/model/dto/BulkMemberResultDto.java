@@ -0,0 +1,32 @@
+package com.taskmanagement.project.model.dto;
+
+import com.taskmanagement.project.model.entity.ProjectMember.ProjectRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMemberResultDto {
+    
+    private Long userId;
+    
+    private String userName;
+    
+    private ProjectRole role;
+    
+    private Status status;
+    
+    private String message;
+    
+    public enum Status {
+        ADDED,
+        ALREADY_MEMBER,
+        DUPLICATE,
+        USER_NOT_FOUND,
+        INVALID
+    }
+}
@@ -14,7 +14,10 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects",
+       indexes = {
+           @Index(name = "idx_projects_status_end_date", columnList = "status, end_date")
+       })
 @Data
 @Builder
 @NoArgsConstructor
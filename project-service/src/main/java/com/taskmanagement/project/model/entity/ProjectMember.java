@@ -13,6 +13,9 @@ import java.time.LocalDateTime;
 @Table(name = "project_members", 
        uniqueConstraints = { 
            @UniqueConstraint(columnNames = { "project_id", "user_id" }) 
+       },
+       indexes = {
+           @Index(name = "idx_project_members_user_project", columnList = "user_id, project_id")
        })
 @Data
 @Builder
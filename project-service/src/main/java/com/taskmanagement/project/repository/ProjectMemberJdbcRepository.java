@@ -0,0 +1,41 @@
+package com.taskmanagement.project.repository;
+
+import com.taskmanagement.project.model.entity.ProjectMember;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Plain JDBC access for bulk writes to project_members. ProjectMember ids use IDENTITY
+ * generation, which makes Hibernate insert rows one statement at a time; going through
+ * JdbcTemplate lets the driver send them as a single batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectMemberJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO project_members (project_id, user_id, user_name, user_email, role, joined_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert all members with JDBC batching. Joins the caller's transaction.
+     */
+    public void batchInsert(List<ProjectMember> members) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, members, BATCH_SIZE, (ps, member) -> {
+            ps.setLong(1, member.getProject().getId());
+            ps.setLong(2, member.getUserId());
+            ps.setString(3, member.getUserName());
+            ps.setString(4, member.getUserEmail());
+            ps.setString(5, member.getRole().name());
+            ps.setTimestamp(6, Timestamp.valueOf(member.getJoinedAt()));
+        });
+    }
+}
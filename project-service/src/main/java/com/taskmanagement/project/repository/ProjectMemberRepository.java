@@ -3,8 +3,11 @@ package com.taskmanagement.project.repository;
 import com.taskmanagement.project.model.entity.ProjectMember;
 import com.taskmanagement.project.model.entity.ProjectMember.ProjectRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +16,8 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
     
     List<ProjectMember> findByProjectId(Long projectId);
     
+    List<ProjectMember> findByProjectIdIn(Collection<Long> projectIds);
+    
     List<ProjectMember> findByUserId(Long userId);
     
     List<ProjectMember> findByProjectIdAndRole(Long projectId, ProjectRole role);
@@ -21,5 +26,8 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
     
     boolean existsByProjectIdAndUserId(Long projectId, Long userId);
     
+    @Query("SELECT m.userId FROM ProjectMember m WHERE m.project.id = :projectId AND m.userId IN :userIds")
+    List<Long> findUserIdsByProjectIdAndUserIdIn(@Param("projectId") Long projectId, @Param("userIds") Collection<Long> userIds);
+    
     void deleteByProjectIdAndUserId(Long projectId, Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.taskmanagement.project.repository;
+
+import com.taskmanagement.project.model.entity.Project;
+import com.taskmanagement.project.model.entity.Project.ProjectStatus;
+import com.taskmanagement.project.model.entity.ProjectMember;
+import jakarta.persistence.criteria.Join;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Reusable query predicates for {@link Project}. Every filter is evaluated by the
+ * database so list endpoints never have to post-filter entities in memory.
+ */
+public final class ProjectSpecifications {
+
+    private ProjectSpecifications() {
+    }
+
+    /**
+     * Projects the given user is a member of (inner join on project_members.user_id)
+     */
+    public static Specification<Project> hasMember(Long userId) {
+        return (root, query, cb) -> {
+            Join<Project, ProjectMember> members = root.join("members");
+            return cb.equal(members.get("userId"), userId);
+        };
+    }
+
+    public static Specification<Project> hasStatus(ProjectStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Project> endDateOnOrAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("endDate"), date);
+    }
+
+    public static Specification<Project> endDateOnOrBefore(LocalDate date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("endDate"), date);
+    }
+
+    /**
+     * Name prefix match; the pattern is anchored at the start so an index on name can be used
+     */
+    public static Specification<Project> nameStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("name"), escapeLike(prefix) + "%", '\\');
+    }
+
+    /**
+     * Keyset cursor: only projects with an id greater than the last one already returned
+     */
+    public static Specification<Project> idGreaterThan(Long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskmanagement.project.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Checks the X-User-* headers signed by the api-gateway, so a request that already passed
+ * JWT verification at the edge does not have to be verified again here
+ */
+@Component
+@Slf4j
+public class GatewayIdentityVerifier {
+
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_EMAIL = "X-User-Email";
+    public static final String USER_NAME = "X-User-Name";
+    public static final String USER_ROLE = "X-User-Role";
+    public static final String USER_EXPIRES = "X-User-Expires";
+    public static final String USER_SIGNATURE = "X-User-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKeySpec key;
+
+    public GatewayIdentityVerifier(@Value("${app.gateway.identity-secret:}") String secret) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        this.key = secretBytes.length >= MIN_SECRET_BYTES ? new SecretKeySpec(secretBytes, ALGORITHM) : null;
+        if (key == null) {
+            log.warn("Gateway identity secret is missing or too short; gateway identity headers will be ignored");
+        }
+    }
+
+    /**
+     * @return the caller described by the gateway headers, or null if they are missing,
+     *         expired or not signed by the gateway
+     */
+    public UserPrincipal verify(HttpServletRequest request) {
+        String signature = request.getHeader(USER_SIGNATURE);
+        if (key == null || signature == null) {
+            return null;
+        }
+
+        String userId = request.getHeader(USER_ID);
+        String email = request.getHeader(USER_EMAIL);
+        String name = request.getHeader(USER_NAME);
+        String role = request.getHeader(USER_ROLE);
+        String expires = request.getHeader(USER_EXPIRES);
+        if (userId == null || email == null || name == null || role == null || expires == null) {
+            return null;
+        }
+
+        try {
+            if (Long.parseLong(expires) * 1000 < System.currentTimeMillis()) {
+                return null;
+            }
+
+            byte[] expected = sign(String.join("\n", userId, email, name, role, expires));
+            if (!MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(signature))) {
+                log.warn("Rejected gateway identity headers with an invalid signature");
+                return null;
+            }
+
+            return UserPrincipal.builder()
+                    .id(Long.parseLong(userId))
+                    .email(email)
+                    .name(URLDecoder.decode(name, StandardCharsets.UTF_8))
+                    .role(role)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed gateway identity headers: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] sign(String canonical) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot verify gateway identity headers", e);
+        }
+    }
+}
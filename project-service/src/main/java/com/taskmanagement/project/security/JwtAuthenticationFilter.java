@@ -1,16 +1,21 @@
 package com.taskmanagement.project.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -18,26 +23,40 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            // If we receive headers from API Gateway, trust them
-            if (request.getHeader("X-User-Id") != null) {
-                log.debug("Using user context from gateway headers: User ID {}", request.getHeader("X-User-Id"));
-                filterChain.doFilter(request, response);
-                return;
-            }
-            
-            // Otherwise validate JWT token if present
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                log.debug("Valid JWT token, proceeding with request");
+
+            // Headers signed by the API Gateway mean the token was already verified there
+            UserPrincipal userPrincipal = gatewayIdentityVerifier.verify(request);
+            if (userPrincipal != null) {
+                log.debug("Using user context from gateway headers: User ID {}", userPrincipal.getId());
             } else if (jwt != null) {
-                log.warn("Invalid JWT token received");
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                return;
+                // Otherwise verify the JWT ourselves
+                Claims claims = jwtUtil.parseValidClaims(jwt);
+                if (claims == null) {
+                    log.warn("Invalid JWT token received");
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    return;
+                }
+                userPrincipal = UserPrincipal.builder()
+                        .id(claims.get("id", Long.class))
+                        .email(claims.get("email", String.class))
+                        .name(claims.get("name", String.class))
+                        .role(claims.get("role", String.class))
+                        .build();
+            }
+
+            if (userPrincipal != null) {
+                // Keep the token for service-to-service calls
+                userPrincipal.setToken(jwt);
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        userPrincipal, null, List.of(new SimpleGrantedAuthority("ROLE_" + userPrincipal.getRole())));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
             log.error("Cannot validate token: {}", e.getMessage());
@@ -1,20 +1,27 @@
 package com.taskmanagement.project.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private final JwksKeyResolver keyResolver;
+
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        // Tokens are signed by auth-service with ES256; keys come from its JWKS endpoint
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyResolver)
+                .build();
+    }
 
     /**
      * Validate the JWT token
@@ -22,13 +29,17 @@ public class JwtUtil {
      * @return true if the token is valid, false otherwise
      */
     public boolean validateToken(String token) {
+        return parseValidClaims(token) != null;
+    }
+
+    /**
+     * Verify the signature and expiry of a token and return its claims, parsing it only once
+     * @param token The JWT token
+     * @return The claims, or null if the token is invalid or expired
+     */
+    public Claims parseValidClaims(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (SignatureException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -40,7 +51,7 @@ public class JwtUtil {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
 
     /**
@@ -49,12 +60,7 @@ public class JwtUtil {
      * @return The user id
      */
     public Long getUserIdFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
 
         return claims.get("id", Long.class);
     }
@@ -65,12 +71,7 @@ public class JwtUtil {
      * @return The role
      */
     public String getRoleFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
 
         return claims.get("role", String.class);
     }
@@ -1,12 +1,14 @@
 package com.taskmanagement.project.service;
 
-import com.taskmanagement.project.client.AuthServiceClient;
+import com.taskmanagement.project.client.UserBatchLoader;
 import com.taskmanagement.project.exception.AccessDeniedException;
 import com.taskmanagement.project.exception.ResourceNotFoundException;
+import com.taskmanagement.project.model.dto.BulkMemberResultDto;
 import com.taskmanagement.project.model.dto.ProjectMemberDto;
 import com.taskmanagement.project.model.dto.UserDto;
 import com.taskmanagement.project.model.entity.Project;
 import com.taskmanagement.project.model.entity.ProjectMember;
+import com.taskmanagement.project.repository.ProjectMemberJdbcRepository;
 import com.taskmanagement.project.repository.ProjectMemberRepository;
 import com.taskmanagement.project.repository.ProjectRepository;
 import com.taskmanagement.project.security.ProjectSecurity;
@@ -16,7 +18,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,10 +32,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProjectMemberService {
 
+    private static final int MAX_BULK_MEMBERS = 10000;
+
     private final ProjectRepository projectRepository;
     private final ProjectMemberRepository projectMemberRepository;
+    private final ProjectMemberJdbcRepository projectMemberJdbcRepository;
     private final ProjectSecurity projectSecurity;
-    private final AuthServiceClient authServiceClient;
+    private final UserBatchLoader userBatchLoader;
 
     /**
      * Get all members of a project
@@ -70,7 +81,7 @@ public class ProjectMemberService {
         UserDto user;
         try {
             String authHeader = "Bearer " + projectSecurity.getCurrentUser().getToken();
-            user = authServiceClient.getUserById(authHeader, memberDto.getUserId());
+            user = userBatchLoader.load(authHeader, memberDto.getUserId());
         } catch (Exception e) {
             throw new IllegalArgumentException("User not found with id: " + memberDto.getUserId());
         }
@@ -90,6 +101,87 @@ public class ProjectMemberService {
         return mapToDto(savedMember);
     }
     
+    /**
+     * Add many members to a project at once. Existing members are found with one query,
+     * users are resolved in batches and new rows are inserted with JDBC batching, all in
+     * a single transaction. Returns one result per requested row, in request order.
+     */
+    @Transactional
+    public List<BulkMemberResultDto> addProjectMembers(Long projectId, List<ProjectMemberDto> memberDtos) {
+        // Check if the project exists
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+        
+        // Check if the user has permission to add members
+        if (!projectSecurity.isProjectManager(projectId)) {
+            throw new AccessDeniedException("You don't have permission to add members to this project");
+        }
+        
+        if (memberDtos.size() > MAX_BULK_MEMBERS) {
+            throw new IllegalArgumentException("Cannot add more than " + MAX_BULK_MEMBERS + " members at once");
+        }
+        
+        Set<Long> requestedUserIds = memberDtos.stream()
+                .map(ProjectMemberDto::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        
+        // Check existing members with a single IN query
+        Set<Long> existingUserIds = requestedUserIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(projectMemberRepository.findUserIdsByProjectIdAndUserIdIn(projectId, requestedUserIds));
+        
+        // Resolve all new users with batched calls to the auth service
+        Set<Long> newUserIds = new HashSet<>(requestedUserIds);
+        newUserIds.removeAll(existingUserIds);
+        String authHeader = "Bearer " + projectSecurity.getCurrentUser().getToken();
+        Map<Long, UserDto> users = newUserIds.isEmpty() ? Map.of() : userBatchLoader.loadAll(authHeader, newUserIds);
+        
+        List<BulkMemberResultDto> results = new ArrayList<>(memberDtos.size());
+        List<ProjectMember> newMembers = new ArrayList<>();
+        Set<Long> seenUserIds = new HashSet<>();
+        LocalDateTime joinedAt = LocalDateTime.now();
+        
+        for (ProjectMemberDto memberDto : memberDtos) {
+            Long userId = memberDto.getUserId();
+            BulkMemberResultDto.BulkMemberResultDtoBuilder result = BulkMemberResultDto.builder()
+                    .userId(userId)
+                    .role(memberDto.getRole());
+            
+            if (userId == null || memberDto.getRole() == null) {
+                results.add(result.status(BulkMemberResultDto.Status.INVALID)
+                        .message("User ID and role are required").build());
+            } else if (existingUserIds.contains(userId)) {
+                results.add(result.status(BulkMemberResultDto.Status.ALREADY_MEMBER)
+                        .message("User is already a member of this project").build());
+            } else if (!seenUserIds.add(userId)) {
+                results.add(result.status(BulkMemberResultDto.Status.DUPLICATE)
+                        .message("User appears more than once in the request").build());
+            } else if (!users.containsKey(userId)) {
+                results.add(result.status(BulkMemberResultDto.Status.USER_NOT_FOUND)
+                        .message("User not found with id: " + userId).build());
+            } else {
+                UserDto user = users.get(userId);
+                newMembers.add(ProjectMember.builder()
+                        .project(project)
+                        .userId(user.getId())
+                        .userName(user.getName())
+                        .userEmail(user.getEmail())
+                        .role(memberDto.getRole())
+                        .joinedAt(joinedAt)
+                        .build());
+                results.add(result.userName(user.getName()).status(BulkMemberResultDto.Status.ADDED).build());
+            }
+        }
+        
+        if (!newMembers.isEmpty()) {
+            projectMemberJdbcRepository.batchInsert(newMembers);
+        }
+        log.info("Added {} of {} requested members to project {}", newMembers.size(), memberDtos.size(), project.getName());
+        
+        return results;
+    }
+    
     /**
      * Update a project member's role
      */
@@ -10,15 +10,22 @@ import com.taskmanagement.project.model.entity.Project;
 import com.taskmanagement.project.model.entity.ProjectMember;
 import com.taskmanagement.project.repository.ProjectMemberRepository;
 import com.taskmanagement.project.repository.ProjectRepository;
+import com.taskmanagement.project.repository.ProjectSpecifications;
 import com.taskmanagement.project.security.ProjectSecurity;
 import com.taskmanagement.project.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +33,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProjectService {
 
+    private static final int MAX_QUERY_PAGE_SIZE = 100;
+
     private final ProjectRepository projectRepository;
     private final ProjectMemberRepository projectMemberRepository;
     private final ProjectSecurity projectSecurity;
@@ -47,9 +56,7 @@ public class ProjectService {
             projects = projectRepository.findByMemberId(currentUser.getId());
         }
         
-        return projects.stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapToDtos(projects);
     }
     
     /**
@@ -213,9 +220,7 @@ public class ProjectService {
         
         List<Project> projects = projectRepository.findByMemberId(userId);
         
-        return projects.stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapToDtos(projects);
     }
     
     /**
@@ -231,14 +236,11 @@ public class ProjectService {
             projects = projectRepository.findByStatus(status);
         } else {
             // Other users can only see projects they are members of
-            projects = projectRepository.findByMemberId(currentUser.getId()).stream()
-                    .filter(p -> p.getStatus() == status)
-                    .collect(Collectors.toList());
+            projects = projectRepository.findAll(ProjectSpecifications.hasMember(currentUser.getId())
+                    .and(ProjectSpecifications.hasStatus(status)));
         }
         
-        return projects.stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapToDtos(projects);
     }
     
     /**
@@ -257,13 +259,92 @@ public class ProjectService {
             projects = projectRepository.findByEndDateBetween(today, endDate);
         } else {
             // Other users can only see projects they are members of
-            projects = projectRepository.findByMemberId(currentUser.getId()).stream()
-                    .filter(p -> !p.getEndDate().isBefore(today) && !p.getEndDate().isAfter(endDate))
-                    .collect(Collectors.toList());
+            projects = projectRepository.findAll(ProjectSpecifications.hasMember(currentUser.getId())
+                    .and(ProjectSpecifications.endDateOnOrAfter(today))
+                    .and(ProjectSpecifications.endDateOnOrBefore(endDate)));
         }
         
+        return mapToDtos(projects);
+    }
+    
+    /**
+     * Query projects with database-side filters and keyset pagination.
+     * Results are ordered by id; pass the returned nextCursor as afterId to fetch the next page.
+     */
+    public Map<String, Object> queryProjects(Long userId, Project.ProjectStatus status, LocalDate endDateFrom,
+                                             LocalDate endDateTo, String namePrefix, Long afterId, int size) {
+        UserPrincipal currentUser = projectSecurity.getCurrentUser();
+        
+        // Users can only query their own projects unless they are admins
+        if (userId != null && !currentUser.getId().equals(userId) && !currentUser.isAdmin()) {
+            throw new AccessDeniedException("You don't have permission to view other users' projects");
+        }
+        
+        if (size < 1 || size > MAX_QUERY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_QUERY_PAGE_SIZE);
+        }
+        
+        Long memberId = userId != null ? userId : (currentUser.isAdmin() ? null : currentUser.getId());
+        
+        Specification<Project> spec = Specification.where(null);
+        if (memberId != null) {
+            spec = spec.and(ProjectSpecifications.hasMember(memberId));
+        }
+        if (status != null) {
+            spec = spec.and(ProjectSpecifications.hasStatus(status));
+        }
+        if (endDateFrom != null) {
+            spec = spec.and(ProjectSpecifications.endDateOnOrAfter(endDateFrom));
+        }
+        if (endDateTo != null) {
+            spec = spec.and(ProjectSpecifications.endDateOnOrBefore(endDateTo));
+        }
+        if (StringUtils.hasText(namePrefix)) {
+            spec = spec.and(ProjectSpecifications.nameStartsWith(namePrefix));
+        }
+        if (afterId != null) {
+            spec = spec.and(ProjectSpecifications.idGreaterThan(afterId));
+        }
+        
+        // Fetch one extra row to find out whether another page exists without a count query
+        List<Project> projects = projectRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(size + 1)
+                .all());
+        
+        boolean hasNext = projects.size() > size;
+        if (hasNext) {
+            projects = projects.subList(0, size);
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("projects", mapToDtos(projects));
+        result.put("size", projects.size());
+        result.put("hasNext", hasNext);
+        result.put("nextCursor", hasNext ? projects.get(projects.size() - 1).getId() : null);
+        
+        return result;
+    }
+    
+    /**
+     * Map a list of Project entities to ProjectDtos, loading the members of
+     * all projects with a single query instead of one query per project
+     */
+    private List<ProjectDto> mapToDtos(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        List<Long> projectIds = projects.stream()
+                .map(Project::getId)
+                .collect(Collectors.toList());
+        
+        Map<Long, List<ProjectMemberDto>> membersByProject = projectMemberRepository.findByProjectIdIn(projectIds).stream()
+                .map(this::mapMemberToDto)
+                .collect(Collectors.groupingBy(ProjectMemberDto::getProjectId));
+        
         return projects.stream()
-                .map(this::mapToDto)
+                .map(project -> mapToDto(project, membersByProject.getOrDefault(project.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
     
@@ -272,17 +353,16 @@ public class ProjectService {
      */
     private ProjectDto mapToDto(Project project) {
         List<ProjectMemberDto> members = projectMemberRepository.findByProjectId(project.getId()).stream()
-                .map(member -> ProjectMemberDto.builder()
-                        .id(member.getId())
-                        .projectId(project.getId())
-                        .userId(member.getUserId())
-                        .userName(member.getUserName())
-                        .userEmail(member.getUserEmail())
-                        .role(member.getRole())
-                        .joinedAt(member.getJoinedAt())
-                        .build())
+                .map(this::mapMemberToDto)
                 .collect(Collectors.toList());
-                
+        
+        return mapToDto(project, members);
+    }
+    
+    /**
+     * Map Project entity and its already loaded members to ProjectDto
+     */
+    private ProjectDto mapToDto(Project project, List<ProjectMemberDto> members) {
         return ProjectDto.builder()
                 .id(project.getId())
                 .name(project.getName())
@@ -299,4 +379,19 @@ public class ProjectService {
                 .members(members)
                 .build();
     }
+    
+    /**
+     * Map ProjectMember entity to ProjectMemberDto
+     */
+    private ProjectMemberDto mapMemberToDto(ProjectMember member) {
+        return ProjectMemberDto.builder()
+                .id(member.getId())
+                .projectId(member.getProject().getId())
+                .userId(member.getUserId())
+                .userName(member.getUserName())
+                .userEmail(member.getUserEmail())
+                .role(member.getRole())
+                .joinedAt(member.getJoinedAt())
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.taskmanagement.project.client;
+
+import com.taskmanagement.project.exception.ResourceNotFoundException;
+import com.taskmanagement.project.model.dto.UserDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserBatchLoaderTest {
+
+    private static final String AUTH_HEADER = "Bearer token";
+
+    private final AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+    private final UserBatchLoader loader = new UserBatchLoader(authServiceClient, 100, 5000, 2);
+    private final ExecutorService callers = Executors.newFixedThreadPool(10);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        loader.shutdown();
+    }
+
+    @Test
+    void lookupsMadeWhileACallIsInFlightAreCoalescedIntoTheNextOne() throws Exception {
+        CountDownLatch firstCallStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstCall = new CountDownLatch(1);
+        List<List<Long>> calls = new CopyOnWriteArrayList<>();
+        when(authServiceClient.getUsersByIds(eq(AUTH_HEADER), anyList())).thenAnswer(invocation -> {
+            List<Long> ids = List.copyOf(invocation.getArgument(1));
+            calls.add(ids);
+            firstCallStarted.countDown();
+            releaseFirstCall.await(5, TimeUnit.SECONDS);
+            return ids.stream().map(this::user).collect(Collectors.toList());
+        });
+
+        CompletableFuture<UserDto> first = CompletableFuture.supplyAsync(() -> loader.load(AUTH_HEADER, 1L), callers);
+        assertThat(firstCallStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<CompletableFuture<UserDto>> queued = IntStream.rangeClosed(1, 9)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> loader.load(AUTH_HEADER, (long) (i % 4 + 2)), callers))
+                .collect(Collectors.toList());
+        // Give the queued lookups time to reach the loader before the first call returns
+        Thread.sleep(200);
+        releaseFirstCall.countDown();
+
+        assertThat(first.join().getId()).isEqualTo(1L);
+        assertThat(queued.stream().map(CompletableFuture::join).collect(Collectors.toList()))
+                .extracting(UserDto::getId).containsOnly(2L, 3L, 4L, 5L);
+        assertThat(calls).hasSize(2);
+        assertThat(calls.get(0)).containsExactly(1L);
+        assertThat(calls.get(1)).containsExactlyInAnyOrder(2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void missingUserFailsOnlyItsOwnLookup() {
+        when(authServiceClient.getUsersByIds(eq(AUTH_HEADER), anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(1);
+            return ids.contains(1L) ? List.of(user(1L)) : List.of();
+        });
+
+        CompletableFuture<UserDto> found = CompletableFuture.supplyAsync(() -> loader.load(AUTH_HEADER, 1L), callers);
+
+        assertThatThrownBy(() -> loader.load(AUTH_HEADER, 2L)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(found.join().getId()).isEqualTo(1L);
+    }
+
+    private UserDto user(Long id) {
+        return UserDto.builder().id(id).name("User " + id).email("user" + id + "@example.com").build();
+    }
+}
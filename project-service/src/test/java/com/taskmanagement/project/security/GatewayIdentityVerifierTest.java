@@ -0,0 +1,74 @@
+package com.taskmanagement.project.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayIdentityVerifierTest {
+
+    private static final String SECRET = "test-gateway-identity-secret-0123456789";
+
+    private final GatewayIdentityVerifier verifier = new GatewayIdentityVerifier(SECRET);
+
+    @Test
+    void signedHeadersAreTrusted() throws Exception {
+        MockHttpServletRequest request = signedRequest("ADMIN", futureExpiry());
+
+        UserPrincipal principal = verifier.verify(request);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getEmail()).isEqualTo("jane@example.com");
+        assertThat(principal.getRole()).isEqualTo("ADMIN");
+    }
+
+    @Test
+    void tamperedHeadersAreRejected() throws Exception {
+        MockHttpServletRequest request = signedRequest("MEMBER", futureExpiry());
+        request.removeHeader(GatewayIdentityVerifier.USER_ROLE);
+        request.addHeader(GatewayIdentityVerifier.USER_ROLE, "ADMIN");
+
+        assertThat(verifier.verify(request)).isNull();
+    }
+
+    @Test
+    void expiredHeadersAreRejected() throws Exception {
+        MockHttpServletRequest request = signedRequest("ADMIN", System.currentTimeMillis() / 1000 - 1);
+
+        assertThat(verifier.verify(request)).isNull();
+    }
+
+    @Test
+    void headersAreIgnoredWithoutASecret() throws Exception {
+        MockHttpServletRequest request = signedRequest("ADMIN", futureExpiry());
+
+        assertThat(new GatewayIdentityVerifier("").verify(request)).isNull();
+    }
+
+    private MockHttpServletRequest signedRequest(String role, long expires) throws Exception {
+        String name = "Jane+Doe";
+        String canonical = String.join("\n", "7", "jane@example.com", name, role, Long.toString(expires));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(GatewayIdentityVerifier.USER_ID, "7");
+        request.addHeader(GatewayIdentityVerifier.USER_EMAIL, "jane@example.com");
+        request.addHeader(GatewayIdentityVerifier.USER_NAME, name);
+        request.addHeader(GatewayIdentityVerifier.USER_ROLE, role);
+        request.addHeader(GatewayIdentityVerifier.USER_EXPIRES, Long.toString(expires));
+        request.addHeader(GatewayIdentityVerifier.USER_SIGNATURE, Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8))));
+        return request;
+    }
+
+    private long futureExpiry() {
+        return System.currentTimeMillis() / 1000 + 300;
+    }
+}
@@ -0,0 +1,176 @@
+package com.taskmanagement.project.service;
+
+import com.taskmanagement.project.client.UserBatchLoader;
+import com.taskmanagement.project.model.dto.BulkMemberResultDto;
+import com.taskmanagement.project.model.dto.ProjectMemberDto;
+import com.taskmanagement.project.model.dto.UserDto;
+import com.taskmanagement.project.model.entity.Project;
+import com.taskmanagement.project.model.entity.ProjectMember;
+import com.taskmanagement.project.model.entity.ProjectMember.ProjectRole;
+import com.taskmanagement.project.repository.ProjectMemberJdbcRepository;
+import com.taskmanagement.project.repository.ProjectMemberRepository;
+import com.taskmanagement.project.security.ProjectSecurity;
+import com.taskmanagement.project.security.UserPrincipal;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false"
+})
+@Import({ProjectMemberService.class, ProjectMemberJdbcRepository.class})
+class ProjectMemberServiceBulkAddTest {
+
+    @Autowired
+    private ProjectMemberService projectMemberService;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ProjectSecurity projectSecurity;
+
+    @MockBean
+    private UserBatchLoader userBatchLoader;
+
+    private Statistics statistics;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        Project project = Project.builder()
+                .name("Project")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusDays(30))
+                .createdBy(1L)
+                .build();
+        entityManager.persist(project);
+        entityManager.persist(ProjectMember.builder()
+                .project(project)
+                .userId(1L)
+                .userName("User 1")
+                .userEmail("user1@example.com")
+                .role(ProjectRole.OWNER)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        projectId = project.getId();
+
+        when(projectSecurity.isProjectManager(projectId)).thenReturn(true);
+        when(projectSecurity.getCurrentUser()).thenReturn(UserPrincipal.builder()
+                .id(1L)
+                .email("user1@example.com")
+                .name("User 1")
+                .role("MANAGER")
+                .token("token")
+                .build());
+        when(userBatchLoader.loadAll(eq("Bearer token"), any())).thenReturn(Map.of(
+                2L, user(2L),
+                3L, user(3L)));
+    }
+
+    @Test
+    void returnsOneResultPerRequestedRowInRequestOrder() {
+        List<BulkMemberResultDto> results = projectMemberService.addProjectMembers(projectId, List.of(
+                request(2L, ProjectRole.MEMBER),
+                request(1L, ProjectRole.MEMBER),
+                request(2L, ProjectRole.MANAGER),
+                request(4L, ProjectRole.MEMBER),
+                request(null, ProjectRole.MEMBER),
+                request(3L, ProjectRole.MANAGER)));
+
+        assertThat(results)
+                .extracting(BulkMemberResultDto::getUserId, BulkMemberResultDto::getRole, BulkMemberResultDto::getStatus)
+                .containsExactly(
+                        tuple(2L, ProjectRole.MEMBER, BulkMemberResultDto.Status.ADDED),
+                        tuple(1L, ProjectRole.MEMBER, BulkMemberResultDto.Status.ALREADY_MEMBER),
+                        tuple(2L, ProjectRole.MANAGER, BulkMemberResultDto.Status.DUPLICATE),
+                        tuple(4L, ProjectRole.MEMBER, BulkMemberResultDto.Status.USER_NOT_FOUND),
+                        tuple(null, ProjectRole.MEMBER, BulkMemberResultDto.Status.INVALID),
+                        tuple(3L, ProjectRole.MANAGER, BulkMemberResultDto.Status.ADDED));
+        assertThat(results.get(0).getUserName()).isEqualTo("User 2");
+
+        // Existing members are neither looked up in the auth service nor inserted again
+        verify(userBatchLoader).loadAll("Bearer token", Set.of(2L, 3L, 4L));
+        assertThat(projectMemberRepository.findByProjectId(projectId))
+                .extracting(ProjectMember::getUserId, ProjectMember::getRole)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, ProjectRole.OWNER),
+                        tuple(2L, ProjectRole.MEMBER),
+                        tuple(3L, ProjectRole.MANAGER));
+    }
+
+    @Test
+    void usesConstantNumberOfStatementsForAnyNumberOfMembers() {
+        Map<Long, UserDto> users = new HashMap<>();
+        List<ProjectMemberDto> requests = new ArrayList<>();
+        for (long userId = 100; userId < 300; userId++) {
+            users.put(userId, user(userId));
+            requests.add(request(userId, ProjectRole.MEMBER));
+        }
+        when(userBatchLoader.loadAll(eq("Bearer token"), any())).thenReturn(users);
+
+        entityManager.clear();
+        statistics.clear();
+        List<BulkMemberResultDto> results = projectMemberService.addProjectMembers(projectId, requests);
+
+        assertThat(results).allSatisfy(result -> assertThat(result.getStatus()).isEqualTo(BulkMemberResultDto.Status.ADDED));
+        // The project and the existing members, each with one query
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        // All new rows in one JDBC batch
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList(), anyInt(), any());
+        assertThat(projectMemberRepository.findByProjectId(projectId)).hasSize(201);
+    }
+
+    private static ProjectMemberDto request(Long userId, ProjectRole role) {
+        return ProjectMemberDto.builder()
+                .userId(userId)
+                .role(role)
+                .build();
+    }
+
+    private static UserDto user(Long id) {
+        return UserDto.builder()
+                .id(id)
+                .name("User " + id)
+                .email("user" + id + "@example.com")
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.taskmanagement.project.service;
+
+import com.taskmanagement.project.client.AuthServiceClient;
+import com.taskmanagement.project.model.dto.ProjectDto;
+import com.taskmanagement.project.model.entity.Project;
+import com.taskmanagement.project.model.entity.ProjectMember;
+import com.taskmanagement.project.security.ProjectSecurity;
+import com.taskmanagement.project.security.UserPrincipal;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false"
+})
+@Import(ProjectService.class)
+class ProjectServiceQueryCountTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private ProjectSecurity projectSecurity;
+
+    @MockBean
+    private AuthServiceClient authServiceClient;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        when(projectSecurity.getCurrentUser()).thenReturn(UserPrincipal.builder()
+                .id(1L)
+                .email("admin@example.com")
+                .name("Admin")
+                .role("ADMIN")
+                .build());
+    }
+
+    @Test
+    void getAllProjectsUsesConstantNumberOfQueries() {
+        createProjects(3);
+        long queriesForFewProjects = countQueries(() -> assertThat(projectService.getAllProjects()).hasSize(3));
+
+        createProjects(20);
+        long queriesForManyProjects = countQueries(() -> assertThat(projectService.getAllProjects()).hasSize(23));
+
+        assertThat(queriesForFewProjects).isEqualTo(2);
+        assertThat(queriesForManyProjects).isEqualTo(queriesForFewProjects);
+    }
+
+    @Test
+    void getProjectsByUserIdUsesConstantNumberOfQueries() {
+        createProjects(20);
+
+        long queries = countQueries(() -> {
+            List<ProjectDto> projects = projectService.getProjectsByUserId(1L);
+            assertThat(projects).hasSize(20);
+            assertThat(projects).allSatisfy(project -> assertThat(project.getMembers()).hasSize(2));
+        });
+
+        assertThat(queries).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void queryProjectsPagesWithKeysetCursorAndConstantNumberOfQueries() {
+        createProjects(25);
+
+        Map<String, Object> firstPage = new HashMap<>();
+        long queries = countQueries(() -> firstPage.putAll(projectService.queryProjects(
+                1L, Project.ProjectStatus.NOT_STARTED, LocalDate.now(), null, "Project", null, 20)));
+
+        assertThat(queries).isEqualTo(2);
+        assertThat((List<ProjectDto>) firstPage.get("projects")).hasSize(20);
+        assertThat(firstPage.get("hasNext")).isEqualTo(true);
+
+        Map<String, Object> secondPage = projectService.queryProjects(
+                1L, Project.ProjectStatus.NOT_STARTED, LocalDate.now(), null, "Project", (Long) firstPage.get("nextCursor"), 20);
+
+        assertThat((List<ProjectDto>) secondPage.get("projects")).hasSize(5);
+        assertThat(secondPage.get("hasNext")).isEqualTo(false);
+        assertThat(secondPage.get("nextCursor")).isNull();
+    }
+
+    private void createProjects(int count) {
+        for (int i = 0; i < count; i++) {
+            Project project = Project.builder()
+                    .name("Project " + i)
+                    .startDate(LocalDate.now())
+                    .endDate(LocalDate.now().plusDays(30))
+                    .createdBy(1L)
+                    .build();
+            entityManager.persist(project);
+            entityManager.persist(member(project, 1L, ProjectMember.ProjectRole.OWNER));
+            entityManager.persist(member(project, 2L, ProjectMember.ProjectRole.MEMBER));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private ProjectMember member(Project project, Long userId, ProjectMember.ProjectRole role) {
+        return ProjectMember.builder()
+                .project(project)
+                .userId(userId)
+                .userName("User " + userId)
+                .userEmail("user" + userId + "@example.com")
+                .role(role)
+                .build();
+    }
+
+    private long countQueries(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
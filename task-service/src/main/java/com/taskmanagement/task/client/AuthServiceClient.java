@@ -4,14 +4,21 @@ import com.taskmanagement.task.model.dto.UserDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
+import java.util.List;
+
 @FeignClient(name = "auth-service", url = "${service.auth-service.url}")
 public interface AuthServiceClient {
     
     @GetMapping("/api/users/{id}")
     UserDto getUserById(@RequestHeader("Authorization") String authHeader, @PathVariable Long id);
     
+    @PostMapping("/api/users/batch")
+    List<UserDto> getUsersByIds(@RequestHeader("Authorization") String authHeader, @RequestBody List<Long> ids);
+    
     @GetMapping("/api/users/email/{email}")
     UserDto getUserByEmail(@RequestHeader("Authorization") String authHeader, @PathVariable String email);
 }
\ No newline at end of file
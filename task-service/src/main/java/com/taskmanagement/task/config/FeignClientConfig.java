@@ -6,9 +6,19 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.List;
+
 @Configuration
 public class FeignClientConfig {
 
+    private static final List<String> IDENTITY_HEADERS = List.of(
+            GatewayIdentityVerifier.USER_ID,
+            GatewayIdentityVerifier.USER_EMAIL,
+            GatewayIdentityVerifier.USER_NAME,
+            GatewayIdentityVerifier.USER_ROLE,
+            GatewayIdentityVerifier.USER_EXPIRES,
+            GatewayIdentityVerifier.USER_SIGNATURE);
+
     @Bean
     public RequestInterceptor requestInterceptor() {
         return requestTemplate -> {
@@ -19,14 +29,11 @@ public class FeignClientConfig {
                     requestTemplate.header("Authorization", authHeader);
                 }
                 
-                // Forward user context headers
-                String userId = attrs.getRequest().getHeader("X-User-Id");
-                String userEmail = attrs.getRequest().getHeader("X-User-Email");
-                String userRole = attrs.getRequest().getHeader("X-User-Role");
-                
-                if (userId != null) requestTemplate.header("X-User-Id", userId);
-                if (userEmail != null) requestTemplate.header("X-User-Email", userEmail);
-                if (userRole != null) requestTemplate.header("X-User-Role", userRole);
+                // Forward the gateway's signed user context headers
+                for (String header : IDENTITY_HEADERS) {
+                    String value = attrs.getRequest().getHeader(header);
+                    if (value != null) requestTemplate.header(header, value);
+                }
             }
         };
     }
@@ -1,5 +1,6 @@
 package com.taskmanagement.task.config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +17,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -23,18 +25,28 @@ import java.util.Collection;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                // Extract user details from token
-                Long userId = jwtUtil.getUserIdFromToken(jwt);
-                String email = jwtUtil.getEmailFromToken(jwt);
-                String name = jwtUtil.getNameFromToken(jwt);
-                String role = jwtUtil.getRoleFromToken(jwt);
+            
+            // Headers signed by the API Gateway mean the token was already verified there
+            UserPrincipal gatewayPrincipal = gatewayIdentityVerifier.verify(request);
+            // Otherwise verify the JWT ourselves, once
+            Claims claims = gatewayPrincipal == null && jwt != null ? jwtUtil.parseValidClaims(jwt) : null;
+            if (gatewayPrincipal != null) {
+                gatewayPrincipal.setToken(jwt);
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        gatewayPrincipal, null, List.of(new SimpleGrantedAuthority("ROLE_" + gatewayPrincipal.getRole()))));
+            } else if (claims != null) {
+                // Extract user details from the verified token
+                Long userId = claims.get("id", Long.class);
+                String email = claims.get("email", String.class);
+                String name = claims.get("name", String.class);
+                String role = claims.get("role", String.class);
                 
                 // Create user principal
                 UserPrincipal userPrincipal = UserPrincipal.builder()
@@ -7,9 +7,11 @@ import com.taskmanagement.task.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +21,8 @@ import java.util.Map;
 @Slf4j
 public class TaskController {
 
+    private static final CacheControl ENTITY_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate().mustRevalidate();
+
     private final TaskService taskService;
 
     @GetMapping
@@ -30,7 +34,7 @@ public class TaskController {
     @GetMapping("/{id}")
     public ResponseEntity<TaskDto> getTaskById(@PathVariable Long id) {
         log.info("Request to get task by id: {}", id);
-        return ResponseEntity.ok(taskService.getTaskById(id));
+        return ResponseEntity.ok().cacheControl(ENTITY_CACHE_CONTROL).body(taskService.getTaskById(id));
     }
 
     @PostMapping
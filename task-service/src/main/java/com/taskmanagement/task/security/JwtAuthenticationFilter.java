@@ -1,5 +1,7 @@
 package com.taskmanagement.task.security;
 
+import com.taskmanagement.task.config.GatewayIdentityVerifier;
+import com.taskmanagement.task.config.UserPrincipal;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,14 +20,16 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            // If we receive headers from API Gateway, trust them
-            if (request.getHeader("X-User-Id") != null) {
-                log.debug("Using user context from gateway headers: User ID {}", request.getHeader("X-User-Id"));
+            // If we receive headers signed by the API Gateway, trust them
+            UserPrincipal gatewayPrincipal = gatewayIdentityVerifier.verify(request);
+            if (gatewayPrincipal != null) {
+                log.debug("Using user context from gateway headers: User ID {}", gatewayPrincipal.getId());
                 filterChain.doFilter(request, response);
                 return;
             }
@@ -1,7 +1,7 @@
 package com.taskmanagement.task.service;
 
-import com.taskmanagement.task.client.AuthServiceClient;
 import com.taskmanagement.task.client.ProjectServiceClient;
+import com.taskmanagement.task.client.UserBatchLoader;
 import com.taskmanagement.task.config.TaskSecurity;
 import com.taskmanagement.task.config.UserPrincipal;
 import com.taskmanagement.task.exception.AccessDeniedException;
@@ -36,7 +36,7 @@ public class TaskService {
     private final TaskHistoryRepository taskHistoryRepository;
     private final TaskMapper taskMapper;
     private final TaskSecurity taskSecurity;
-    private final AuthServiceClient authServiceClient;
+    private final UserBatchLoader userBatchLoader;
     private final ProjectServiceClient projectServiceClient;
     private final TaskHistoryService taskHistoryService;
 
@@ -189,7 +189,7 @@ public class TaskService {
         if (taskDto.getAssignedTo() != null) {
             try {
                 String authHeader = "Bearer " + currentUser.getToken();
-                UserDto assignee = authServiceClient.getUserById(authHeader, taskDto.getAssignedTo());
+                UserDto assignee = userBatchLoader.load(authHeader, taskDto.getAssignedTo());
                 taskDto.setAssigneeName(assignee.getName());
             } catch (Exception e) {
                 throw new ResourceNotFoundException("Assigned user not found with id: " + taskDto.getAssignedTo());
@@ -255,7 +255,7 @@ public class TaskService {
         if (taskDto.getAssignedTo() != null && !taskDto.getAssignedTo().equals(task.getAssignedTo())) {
             try {
                 String authHeader = "Bearer " + currentUser.getToken();
-                UserDto assignee = authServiceClient.getUserById(authHeader, taskDto.getAssignedTo());
+                UserDto assignee = userBatchLoader.load(authHeader, taskDto.getAssignedTo());
                 taskDto.setAssigneeName(assignee.getName());
             } catch (Exception e) {
                 throw new ResourceNotFoundException("Assigned user not found with id: " + taskDto.getAssignedTo());
@@ -500,7 +500,7 @@ public class TaskService {
         if (userId != null) {
             try {
                 String authHeader = "Bearer " + currentUser.getToken();
-                UserDto assignee = authServiceClient.getUserById(authHeader, userId);
+                UserDto assignee = userBatchLoader.load(authHeader, userId);
                 assigneeName = assignee.getName();
             } catch (Exception e) {
                 throw new ResourceNotFoundException("User not found with id: " + userId);